@@ -0,0 +1,44 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+
+import java.util.HashSet;
+
+/**
+ * The rook and bishop calculators as they were once rewritten on the attack tables, still returning a HashSet
+ * of moves. Kept here only to compare against {@link RayWalkMovesCalc} in the slider benchmarks.
+ */
+public class MagicMovesCalc {
+
+    public HashSet<ChessMove> getRookMoves(ChessBoard board, ChessPosition currPos) {
+        long attacks = AttackTables.rookAttacks(squareOf(currPos), board.getOccupied());
+        return movesToTargets(currPos, attacks & ~teammates(board, currPos));
+    }
+
+    public HashSet<ChessMove> getBishopMoves(ChessBoard board, ChessPosition currPos) {
+        long attacks = AttackTables.bishopAttacks(squareOf(currPos), board.getOccupied());
+        return movesToTargets(currPos, attacks & ~teammates(board, currPos));
+    }
+
+    private static int squareOf(ChessPosition position) {
+        return Bitboards.square(position.getRow(), position.getColumn());
+    }
+
+    private static long teammates(ChessBoard board, ChessPosition start) {
+        return board.getTeamPieces(board.getPiece(start).getTeamColor());
+    }
+
+    private static HashSet<ChessMove> movesToTargets(ChessPosition start, long targets) {
+        HashSet<ChessMove> moves = new HashSet<>();
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            moves.add(ChessMove.of(start, ChessPosition.of(square), null));
+            targets &= targets - 1; // Clear lowest square
+        }
+        return moves;
+    }
+}
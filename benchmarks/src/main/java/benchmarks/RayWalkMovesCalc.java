@@ -0,0 +1,55 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+
+import java.util.HashSet;
+
+/**
+ * The square-by-square ray walker the rook and bishop calculators used before the attack tables.
+ * Kept here only as a baseline for the slider benchmarks.
+ */
+public class RayWalkMovesCalc {
+
+    private static final int[][] ORTHOGONAL = {{1, 0}, {-1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] DIAGONAL = {{1, 1}, {1, -1}, {-1, -1}, {-1, 1}};
+
+    public HashSet<ChessMove> getRookMoves(ChessBoard board, ChessPosition currPos) {
+        HashSet<ChessMove> possibleMoves = new HashSet<>();
+        for (int[] direction : ORTHOGONAL) {
+            possibleMoves.addAll(getRayMoves(board, currPos, direction[0], direction[1]));
+        }
+        return possibleMoves;
+    }
+
+    public HashSet<ChessMove> getBishopMoves(ChessBoard board, ChessPosition currPos) {
+        HashSet<ChessMove> possibleMoves = new HashSet<>();
+        for (int[] direction : DIAGONAL) {
+            possibleMoves.addAll(getRayMoves(board, currPos, direction[0], direction[1]));
+        }
+        return possibleMoves;
+    }
+
+    /**
+     * Walk one direction until the edge of the board or a blocking piece, one HashSet per direction
+     */
+    private HashSet<ChessMove> getRayMoves(ChessBoard board, ChessPosition currPos, int rowOffset, int colOffset) {
+        HashSet<ChessMove> possibleMoves = new HashSet<>();
+        ChessGame.TeamColor team = board.getPiece(currPos).getTeamColor();
+
+        ChessPosition endPos = new ChessPosition(currPos.getRow() + rowOffset, currPos.getColumn() + colOffset);
+        while (endPos.isInBounds()) {
+            if (board.hasPieceAtPos(endPos)) {
+                if (board.hasRivalAtPos(endPos, team)) {
+                    possibleMoves.add(new ChessMove(currPos, endPos.copy()));
+                }
+                break;
+            }
+            possibleMoves.add(new ChessMove(currPos, endPos.copy()));
+            endPos = new ChessPosition(endPos.getRow() + rowOffset, endPos.getColumn() + colOffset);
+        }
+        return possibleMoves;
+    }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPosition;
+import chess.notation.Fen;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of the rules engine: legal moves for every piece, game-end checks, and board copies.
+ * <p>
+ *     ChessGame keeps legal moves in a cache shared by every game, so after the first call the same position
+ *     is only a lookup. validMovesEveryPiece clears that cache before each call to time move generation, which
+ *     is what earlier runs measured. validMovesEveryPieceCached leaves it warm to time the lookup.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesEngineBenchmark {
+
+    private static final String MIDDLEGAME = "r3k2r/pp1nbppp/2p1pn2/q2p4/2PP1B2/2N1PN2/PP3PPP/R2QKB1R w KQkq - 0 1";
+    private static final String CHECKMATE = "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3";
+    private static final String STALEMATE = "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1";
+
+    private ChessGame middlegame;
+    private ChessGame checkmate;
+    private ChessGame stalemate;
+    private ChessPosition[] middlegamePieces;
+
+    @Setup
+    public void setUp() {
+        middlegame = Fen.toGame(MIDDLEGAME);
+        checkmate = Fen.toGame(CHECKMATE);
+        stalemate = Fen.toGame(STALEMATE);
+
+        ChessBoard board = middlegame.getBoard();
+        middlegamePieces = new ChessPosition[16];
+        int count = 0;
+        for (int r = 1; r <= 8; r++) {
+            for (int c = 1; c <= 8; c++) {
+                ChessPosition position = new ChessPosition(r, c);
+                if (board.hasPieceAtPos(position) &&
+                        board.getPiece(position).getTeamColor() == ChessGame.TeamColor.WHITE) {
+                    middlegamePieces[count++] = position;
+                }
+            }
+        }
+        middlegamePieces = Arrays.copyOf(middlegamePieces, count);
+    }
+
+    /**
+     * Empties the shared legal move cache before every call of a benchmark that uses it
+     */
+    @State(Scope.Thread)
+    public static class ColdMoveCache {
+        @Setup(Level.Invocation)
+        public void clear() {
+            ChessGame.getMoveCache().clear();
+        }
+    }
+
+    @Benchmark
+    public void validMovesEveryPiece(ColdMoveCache cache, Blackhole bh) {
+        for (ChessPosition position : middlegamePieces) {
+            bh.consume(middlegame.validMoves(position));
+        }
+    }
+
+    @Benchmark
+    public void validMovesEveryPieceCached(Blackhole bh) {
+        for (ChessPosition position : middlegamePieces) {
+            bh.consume(middlegame.validMoves(position));
+        }
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return checkmate.isInCheckmate(ChessGame.TeamColor.WHITE);
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return stalemate.isInStalemate(ChessGame.TeamColor.BLACK);
+    }
+
+    @Benchmark
+    public boolean middlegameNotOver() {
+        return middlegame.isInCheckmate(ChessGame.TeamColor.WHITE) ||
+                middlegame.isInStalemate(ChessGame.TeamColor.WHITE);
+    }
+
+    @Benchmark
+    public ChessBoard boardCopy() {
+        return middlegame.getBoard().copy();
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import chess.notation.Fen;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How the Lazy SMP search scales with threads. Each operation is one search of a middlegame to a fixed
+ * depth from an empty table, so the primary score is searches per second (time to depth is one over it)
+ * and the {@code nodes} counter is nodes per second across every thread.
+ * <p>
+ *     Helper threads come from a pool with one thread fewer than the machine has cores, so thread counts past
+ *     the core count show what the engine really does with them rather than an oversubscribed machine.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchScalingBenchmark {
+
+    private static final String MIDDLEGAME = "r3k2r/pp1nbppp/2p1pn2/q2p4/2PP1B2/2N1PN2/PP3PPP/R2QKB1R w KQkq - 0 1";
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"5"})
+    public int depth;
+
+    private ChessGame game;
+    private TranspositionTable table;
+    private ParallelSearch search;
+
+    @Setup
+    public void setUp() {
+        game = Fen.toGame(MIDDLEGAME);
+        table = new TranspositionTable(64);
+        search = new ParallelSearch(table, threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear(); // Time to depth from a cold table, not a repeat of the last search
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class NodeCounter {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Benchmark
+    public SearchResult searchToDepth(NodeCounter counter) {
+        SearchResult result = search.search(game, SearchLimits.depth(depth));
+        counter.nodes += result.nodes();
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.notation.Fen;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson round trips of a ChessGame, done the way SQLGameDAO stores and loads games: a new Gson per call.
+ * The shared-instance variants show what reusing one Gson would save.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final Gson sharedGson = new Gson();
+    private ChessGame game;
+    private String gameJson;
+
+    @Setup
+    public void setUp() {
+        game = Fen.toGame("r3k2r/pp1nbppp/2p1pn2/q2p4/2PP1B2/2N1PN2/PP3PPP/R2QKB1R w KQkq - 0 1");
+        gameJson = new Gson().toJson(game);
+    }
+
+    @Benchmark
+    public String serializeAsDao() {
+        return new Gson().toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame deserializeAsDao() {
+        return new Gson().fromJson(gameJson, ChessGame.class);
+    }
+
+    @Benchmark
+    public ChessGame roundTripAsDao() {
+        return new Gson().fromJson(new Gson().toJson(game), ChessGame.class);
+    }
+
+    @Benchmark
+    public ChessGame roundTripSharedGson() {
+        return sharedGson.fromJson(sharedGson.toJson(game), ChessGame.class);
+    }
+}
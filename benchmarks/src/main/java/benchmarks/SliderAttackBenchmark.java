@@ -0,0 +1,92 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old ray walking slider calculators against the magic bitboard lookups,
+ * both through the HashSet-returning calculators and as raw attack bitboards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SliderAttackBenchmark {
+
+    private ChessBoard board;
+    private ChessPosition[] sliderPositions;
+    private int[] sliderSquares;
+
+    private final RayWalkMovesCalc rayWalkCalc = new RayWalkMovesCalc();
+    private final MagicMovesCalc magicCalc = new MagicMovesCalc();
+
+    @Setup
+    public void setUp() {
+        // Open middlegame: sliders on both teams with partly blocked rays
+        board = new ChessBoard();
+        place(1, 1, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        place(1, 7, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        place(3, 3, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP);
+        place(4, 4, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        place(4, 6, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        place(5, 5, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+        place(6, 3, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
+        place(6, 6, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+        place(8, 4, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        place(8, 7, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING);
+
+        sliderPositions = new ChessPosition[]{
+                new ChessPosition(1, 1), new ChessPosition(4, 6), new ChessPosition(8, 4),
+                new ChessPosition(3, 3), new ChessPosition(6, 3)
+        };
+        sliderSquares = new int[sliderPositions.length];
+        for (int i = 0; i < sliderPositions.length; i++) {
+            sliderSquares[i] = Bitboards.square(sliderPositions[i].getRow(), sliderPositions[i].getColumn());
+        }
+    }
+
+    private void place(int row, int col, ChessGame.TeamColor team, ChessPiece.PieceType type) {
+        board.addPiece(new ChessPosition(row, col), new ChessPiece(team, type));
+    }
+
+    @Benchmark
+    public void rayWalkCalculators(Blackhole bh) {
+        for (int i = 0; i < 3; i++) {
+            bh.consume(rayWalkCalc.getRookMoves(board, sliderPositions[i]));
+        }
+        for (int i = 3; i < sliderPositions.length; i++) {
+            bh.consume(rayWalkCalc.getBishopMoves(board, sliderPositions[i]));
+        }
+    }
+
+    @Benchmark
+    public void magicCalculators(Blackhole bh) {
+        for (int i = 0; i < 3; i++) {
+            bh.consume(magicCalc.getRookMoves(board, sliderPositions[i]));
+        }
+        for (int i = 3; i < sliderPositions.length; i++) {
+            bh.consume(magicCalc.getBishopMoves(board, sliderPositions[i]));
+        }
+    }
+
+    @Benchmark
+    public void magicAttackBitboards(Blackhole bh) {
+        long occupied = board.getOccupied();
+        for (int i = 0; i < 3; i++) {
+            bh.consume(AttackTables.rookAttacks(sliderSquares[i], occupied));
+        }
+        for (int i = 3; i < sliderSquares.length; i++) {
+            bh.consume(AttackTables.bishopAttacks(sliderSquares[i], occupied));
+        }
+    }
+}
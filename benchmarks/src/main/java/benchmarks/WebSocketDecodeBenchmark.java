@@ -0,0 +1,49 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import wsmessages.userCommands.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of incoming websocket commands through UserGameCommand.decode, the path WebSocketHandler.onMessage
+ * takes: parse once to read the command type, then parse again into the concrete command class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketDecodeBenchmark {
+
+    private final Gson sharedGson = new Gson();
+    private String makeMoveMessage;
+    private String joinPlayerMessage;
+
+    @Setup
+    public void setUp() {
+        ChessMove move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5));
+        makeMoveMessage = new Gson().toJson(new MakeMove("auth-token-1234", 17, move));
+        joinPlayerMessage = new Gson().toJson(new JoinPlayer("auth-token-1234", 17, ChessGame.TeamColor.WHITE));
+    }
+
+    @Benchmark
+    public UserGameCommand decodeMakeMoveAsHandler() {
+        return UserGameCommand.decode(makeMoveMessage);
+    }
+
+    @Benchmark
+    public UserGameCommand decodeJoinPlayerAsHandler() {
+        return UserGameCommand.decode(joinPlayerMessage);
+    }
+
+    @Benchmark
+    public UserGameCommand decodeMakeMoveSharedGson() {
+        return UserGameCommand.decode(makeMoveMessage, sharedGson);
+    }
+}
@@ -89,7 +89,7 @@ public class BoardDisplay {
             int colChange = isWhitePieceSide ? 1 : -1;
             // Go through all columns in row
             for (int col = startCol; col != endCol; col += colChange) {
-                if (endPlaces.contains(new ChessPosition(row, col))) {          // If position is an available move
+                if (endPlaces.contains(ChessPosition.of(row, col))) {          // If position is an available move
                     setBackgroundHighlightMove(row, col);                       // Highlight it on the board
                 } else if (currentPos != null && row == currentPos.getRow() && col == currentPos.getColumn()) {
                     System.out.print(SET_BG_COLOR_YELLOW);    // If at current position of given piece, highlight
@@ -97,8 +97,8 @@ public class BoardDisplay {
                     setBackgroundToSquareColor(row, col);                       // Otherwise, use regular square color
                 }
                 if (board.hasPieceAtPos(row, col)) {                               // If there's a piece, print it
-                    setTextToPieceColor(board.getPiece(new ChessPosition(row, col)).getTeamColor()); // Print text in correct color
-                    System.out.print(" " + getPieceLetter(board.getPiece(new ChessPosition(row, col))) + " ");
+                    setTextToPieceColor(board.getPiece(ChessPosition.of(row, col)).getTeamColor()); // Print text in correct color
+                    System.out.print(" " + getPieceLetter(board.getPiece(ChessPosition.of(row, col))) + " ");
                 }
                 else
                     System.out.print(" \u2009  ");   // Otherwise, print blank square
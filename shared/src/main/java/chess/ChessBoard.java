@@ -1,19 +1,51 @@
 package chess;
 
+import chess.bitboard.Bitboards;
+import chess.bitboard.PieceSquareTables;
+import chess.bitboard.Zobrist;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Arrays;
 
 /**
  * A chessboard that can hold and rearrange chess pieces.
  */
+@JsonAdapter(ChessBoard.GsonAdapter.class)
 public class ChessBoard {
 
     public final int GRID_SIZE = 8;
 
     public ChessBoard() {
-        grid = new ChessPiece[GRID_SIZE][GRID_SIZE];
+        pieceBitboards = new long[Bitboards.NUM_PIECE_CODES];
+        teamOccupancy = new long[2];
+        squares = new byte[Bitboards.NUM_SQUARES];
+        Arrays.fill(squares, (byte) Bitboards.NO_PIECE);
     }
 
-    private ChessPiece[][] grid;
+    /**
+     * Private data
+     */
+    private byte[] squares;        // Piece code on each square, or NO_PIECE if empty. The only saved field.
+    // Worked out from squares as pieces are added and removed, and rebuilt the same way when a board is loaded
+    private transient long[] pieceBitboards; // One bitboard per team and piece type, indexed by piece code
+    private transient long[] teamOccupancy;  // Union of each team's piece bitboards, indexed by team ordinal
+    private transient long occupied;         // Every occupied square
+    private transient long zobristKey;       // Zobrist hash of the pieces, updated as pieces are added and removed
+    private transient int middlegameScore;   // Piece-square totals, white minus black, updated like the Zobrist hash
+    private transient int endgameScore;
+    private transient int phase;             // Sum of the phase weights of every piece, 24 at the start of a game
+
+    // Back row piece order from column 1 to column 8
+    private static final ChessPiece.PieceType[] BACK_ROW = {
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KING, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.ROOK
+    };
 
     /**
      * Adds a chess piece to the chessboard
@@ -22,7 +54,33 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        grid[position.getRow() - 1][position.getColumn() - 1] = piece;
+        int square = Bitboards.square(position.getRow(), position.getColumn());
+        if (piece == null) {
+            removePiece(square);
+            return;
+        }
+        addPiece(square, Bitboards.pieceCode(piece.getTeamColor(), piece.getPieceType()));
+    }
+
+    /**
+     * Adds a piece to the chessboard by square index and piece code, replacing any piece already there.
+     *
+     * @param square square index from 0 to 63
+     * @param pieceCode code of the piece to add
+     */
+    public void addPiece(int square, int pieceCode) {
+        if (squares[square] != Bitboards.NO_PIECE) {
+            removePiece(square);
+        }
+        long bit = 1L << square;
+        pieceBitboards[pieceCode] |= bit;
+        teamOccupancy[Bitboards.teamIndexOf(pieceCode)] |= bit;
+        occupied |= bit;
+        squares[square] = (byte) pieceCode;
+        zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+        middlegameScore += PieceSquareTables.middlegame(pieceCode, square);
+        endgameScore += PieceSquareTables.endgame(pieceCode, square);
+        phase += PieceSquareTables.phaseWeight(pieceCode);
     }
 
     /**
@@ -33,7 +91,18 @@ public class ChessBoard {
      * position
      */
     public ChessPiece getPiece(ChessPosition position) {
-        return grid[position.getRow() - 1][position.getColumn() - 1];
+        int pieceCode = squares[Bitboards.square(position.getRow(), position.getColumn())];
+        return (pieceCode == Bitboards.NO_PIECE) ? null : ChessPiece.of(pieceCode);
+    }
+
+    /**
+     * Gets the code of the piece on a square
+     *
+     * @param square square index from 0 to 63
+     * @return piece code, or NO_PIECE if the square is empty
+     */
+    public int getPieceCode(int square) {
+        return squares[square];
     }
 
     /**
@@ -42,7 +111,29 @@ public class ChessBoard {
      * @param position The position to remove the piece from
      */
     public void removePiece(ChessPosition position) {
-        grid[position.getRow() - 1][position.getColumn() - 1] = null;
+        removePiece(Bitboards.square(position.getRow(), position.getColumn()));
+    }
+
+    /**
+     * Remove a chess piece from the chessboard by square index
+     *
+     * @param square square index from 0 to 63
+     * @return code of the removed piece, or NO_PIECE if the square was empty
+     */
+    public int removePiece(int square) {
+        int pieceCode = squares[square];
+        if (pieceCode != Bitboards.NO_PIECE) {
+            long clearMask = ~(1L << square);
+            pieceBitboards[pieceCode] &= clearMask;
+            teamOccupancy[Bitboards.teamIndexOf(pieceCode)] &= clearMask;
+            occupied &= clearMask;
+            squares[square] = (byte) Bitboards.NO_PIECE;
+            zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+            middlegameScore -= PieceSquareTables.middlegame(pieceCode, square);
+            endgameScore -= PieceSquareTables.endgame(pieceCode, square);
+            phase -= PieceSquareTables.phaseWeight(pieceCode);
+        }
+        return pieceCode;
     }
 
     /**
@@ -52,7 +143,7 @@ public class ChessBoard {
      * @return true if a chess piece lies on the given position
      */
     public boolean hasPieceAtPos(ChessPosition position) {
-        return (position.isInBounds() && this.grid[position.getRow() - 1][position.getColumn() - 1] != null);
+        return hasPieceAtPos(position.getRow(), position.getColumn());
     }
 
     /**
@@ -62,66 +153,120 @@ public class ChessBoard {
      * @return true if a chess piece lies on the given coordinates
      */
     public boolean hasPieceAtPos(int row, int column) {
-        return hasPieceAtPos(new ChessPosition(row, column));
+        return (row > 0 && row <= GRID_SIZE && column > 0 && column <= GRID_SIZE &&
+                Bitboards.isSet(occupied, Bitboards.square(row, column)));
     }
 
     /**
-     * Check
-     *
-     * @param position square to check
-     * @param color team color to compare against
-     * @return true if space is occupied by opposing team of given team
+     * @param pieceCode code of team and piece type
+     * @return bitboard of every square holding the given piece
      */
-    public boolean hasRivalAtPos(ChessPosition position, ChessGame.TeamColor color) {
-        if (!hasPieceAtPos(position)) {
-            return false;
-        }
-        return !getPiece(position).getTeamColor().equals(color);
+    public long getPieces(int pieceCode) {
+        return pieceBitboards[pieceCode];
     }
 
     /**
-     * Set up the white team chess pieces on the first two rows
+     * @param team team color of pieces
+     * @param type type of pieces
+     * @return bitboard of every square holding the given team's piece type
      */
-    private void setUpWhitePieces() {
-        grid[0][0] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
-        grid[0][1] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
-        grid[0][2] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP);
-        grid[0][3] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN);
-        grid[0][4] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
-        grid[0][5] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP);
-        grid[0][6] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
-        grid[0][7] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+    public long getPieces(ChessGame.TeamColor team, ChessPiece.PieceType type) {
+        return pieceBitboards[Bitboards.pieceCode(team, type)];
     }
 
     /**
-     * Set up the black team chess pieces on the last two rows
+     * @param team team color of pieces
+     * @return bitboard of every square holding one of the team's pieces
      */
-    private void setUpBlackPieces() {
-        grid[7][0] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
-        grid[7][1] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
-        grid[7][2] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
-        grid[7][3] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
-        grid[7][4] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING);
-        grid[7][5] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
-        grid[7][6] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
-        grid[7][7] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+    public long getTeamPieces(ChessGame.TeamColor team) {
+        return teamOccupancy[team.ordinal()];
     }
 
     /**
-     * Set up the pawns for both teams
+     * @return bitboard of every occupied square
      */
-    private void setUpPawns() {
-        Arrays.fill(grid[1], new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        Arrays.fill(grid[6], new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+    public long getOccupied() {
+        return occupied;
     }
 
     /**
-     * Clear the middle four rows of the chessboard
+     * @return Zobrist hash of the pieces on the board. Equal boards always have equal keys.
      */
-    private void clearMiddleRows() {
-        for (int r = 2; r < GRID_SIZE - 2; r++) {
-            Arrays.fill(grid[r], null);
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return middlegame piece-square score of the board, white minus black
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * @return endgame piece-square score of the board, white minus black
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * @return game phase from the pieces left on the board: 24 with every piece on, falling towards 0
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Locate a team's king
+     * @param team team color of king
+     * @return square index of the king, or NO_SQUARE if the team has no king
+     */
+    public int getKingSquare(ChessGame.TeamColor team) {
+        long kings = pieceBitboards[Bitboards.pieceCode(team, ChessPiece.PieceType.KING)];
+        return (kings == 0) ? Bitboards.NO_SQUARE : Long.numberOfTrailingZeros(kings);
+    }
+
+    /**
+     * Check
+     *
+     * @param position square to check
+     * @param color team color to compare against
+     * @return true if space is occupied by opposing team of given team
+     */
+    public boolean hasRivalAtPos(ChessPosition position, ChessGame.TeamColor color) {
+        if (!hasPieceAtPos(position)) {
+            return false;
         }
+        int square = Bitboards.square(position.getRow(), position.getColumn());
+        return !Bitboards.isSet(teamOccupancy[color.ordinal()], square);
+    }
+
+    /**
+     * Set up the back row and pawn row for one team
+     * @param team team color to set up
+     * @param backRow row the team's king starts on
+     * @param pawnRow row the team's pawns start on
+     */
+    private void setUpTeam(ChessGame.TeamColor team, int backRow, int pawnRow) {
+        for (int c = 1; c <= GRID_SIZE; c++) {
+            addPiece(Bitboards.square(backRow, c), Bitboards.pieceCode(team, BACK_ROW[c - 1]));
+            addPiece(Bitboards.square(pawnRow, c), Bitboards.pieceCode(team, ChessPiece.PieceType.PAWN));
+        }
+    }
+
+    /**
+     * Remove every piece from the chessboard
+     */
+    private void clear() {
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(teamOccupancy, 0L);
+        occupied = 0L;
+        Arrays.fill(squares, (byte) Bitboards.NO_PIECE);
+        zobristKey = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
     }
 
     /**
@@ -130,14 +275,14 @@ public class ChessBoard {
      */
     public ChessBoard copy() {
         ChessBoard cloneBoard = new ChessBoard();
-
-        for (int r = 0; r < GRID_SIZE; r++) {
-            for (int c = 0; c < GRID_SIZE; c++) {
-                if (this.grid[r][c] != null) {
-                    cloneBoard.grid[r][c] = this.grid[r][c].copy(); // Clone each ChessPiece
-                }
-            }
-        }
+        cloneBoard.pieceBitboards = this.pieceBitboards.clone();
+        cloneBoard.teamOccupancy = this.teamOccupancy.clone();
+        cloneBoard.occupied = this.occupied;
+        cloneBoard.squares = this.squares.clone();
+        cloneBoard.zobristKey = this.zobristKey;
+        cloneBoard.middlegameScore = this.middlegameScore;
+        cloneBoard.endgameScore = this.endgameScore;
+        cloneBoard.phase = this.phase;
         return cloneBoard;
     }
 
@@ -146,10 +291,9 @@ public class ChessBoard {
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        clearMiddleRows();
-        setUpWhitePieces();
-        setUpBlackPieces();
-        setUpPawns();
+        clear();
+        setUpTeam(ChessGame.TeamColor.WHITE, 1, 2);
+        setUpTeam(ChessGame.TeamColor.BLACK, 8, 7);
     }
 
     @Override
@@ -161,11 +305,115 @@ public class ChessBoard {
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Arrays.deepEquals(grid, that.grid);
+        return Arrays.equals(squares, that.squares); // Not the key, which depends on the Zobrist seeds
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(grid);
+        return Arrays.hashCode(squares);
+    }
+
+    /**
+     * Reads and writes boards as JSON in the format saved games have always used: an 8 by 8 grid of pieces,
+     * row 1 first, with null for empty squares. Only where the pieces stand is saved. Everything worked out
+     * from that is rebuilt with addPiece as the board is read, so it can't go stale.
+     */
+    static class GsonAdapter extends TypeAdapter<ChessBoard> {
+
+        @Override
+        public void write(JsonWriter out, ChessBoard board) throws IOException {
+            if (board == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject().name("grid").beginArray();
+            for (int row = 1; row <= board.GRID_SIZE; row++) {
+                out.beginArray();
+                for (int c = 1; c <= board.GRID_SIZE; c++) {
+                    int pieceCode = board.squares[Bitboards.square(row, c)];
+                    if (pieceCode == Bitboards.NO_PIECE) {
+                        out.nullValue();
+                    } else {
+                        out.beginObject()
+                                .name("color").value(Bitboards.teamOf(pieceCode).name())
+                                .name("type").value(Bitboards.typeOf(pieceCode).name())
+                                .endObject();
+                    }
+                }
+                out.endArray();
+            }
+            out.endArray().endObject();
+        }
+
+        @Override
+        public ChessBoard read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessBoard board = new ChessBoard();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "grid" -> readGrid(in, board);
+                    case "squares" -> readSquares(in, board);
+                    default -> in.skipValue(); // GRID_SIZE, and fields older versions saved but can rebuild
+                }
+            }
+            in.endObject();
+            return board;
+        }
+
+        private static void readGrid(JsonReader in, ChessBoard board) throws IOException {
+            in.beginArray();
+            for (int row = 1; in.hasNext(); row++) {
+                in.beginArray();
+                for (int c = 1; in.hasNext(); c++) {
+                    ChessPiece piece = readPiece(in);
+                    if (piece != null) {
+                        board.addPiece(new ChessPosition(row, c), piece);
+                    }
+                }
+                in.endArray();
+            }
+            in.endArray();
+        }
+
+        /**
+         * Read a piece saved as its color and type
+         * @return the piece, or null for an empty square or a piece missing its color or type
+         */
+        private static ChessPiece readPiece(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessGame.TeamColor color = null;
+            ChessPiece.PieceType type = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "color" -> color = ChessGame.TeamColor.valueOf(in.nextString());
+                    case "type" -> type = ChessPiece.PieceType.valueOf(in.nextString());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return (color == null || type == null) ? null : ChessPiece.of(color, type);
+        }
+
+        /**
+         * Read the piece code on each square, as saved by versions that wrote the board's fields directly
+         */
+        private static void readSquares(JsonReader in, ChessBoard board) throws IOException {
+            in.beginArray();
+            for (int square = 0; in.hasNext(); square++) {
+                int pieceCode = in.nextInt();
+                if (pieceCode != Bitboards.NO_PIECE) {
+                    board.addPiece(square, pieceCode);
+                }
+            }
+            in.endArray();
+        }
     }
 }
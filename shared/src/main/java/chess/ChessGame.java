@@ -1,10 +1,23 @@
 package chess;
 
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+import chess.bitboard.Zobrist;
 import chess.checkendgame.CheckCalculator;
+import chess.moves.LegalMoveCache;
+import chess.moves.Move;
+import chess.moves.LegalMoveGenerator;
+import chess.moves.MoveList;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Objects;
 
 /**
  * For a class that can manage a chess game, making moves on a board
@@ -12,31 +25,50 @@ import java.util.Objects;
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessGame.GsonAdapter.class)
 public class ChessGame {
 
     public ChessGame() {
         board = new ChessBoard();
         board.resetBoard();
-        teamTurn = TeamColor.WHITE;
+        state = GameState.of(TeamColor.WHITE, GameState.ALL_CASTLING);
         gameOver = false;
-        whiteKingLocation = new ChessPosition(1, 5);
-        blackKingLocation = new ChessPosition(8, 5);
     }
 
     /**
      * Private data
      */
     private ChessBoard board;
-    private ChessGame.TeamColor teamTurn;
-    private ChessPosition whiteKingLocation; // Check these positions each turn for check/stalemate
-    private ChessPosition blackKingLocation;
+    private int state; // Side to move, castling rights, en passant column and halfmove clock. See GameState.
     private boolean gameOver;
 
+    // Undo records for every move applied with makeMove, most recent last. Not serialized with the game.
+    private transient long[] undoStack = new long[INITIAL_UNDO_CAPACITY];
+    private transient int undoCount;
+    private transient MoveList scratchMoves = new MoveList(); // Reused by validMoves and move validation
+    // Position key before each move, most recent last. Saved with the game back to the last capture or pawn move,
+    // so a game loaded from storage can still spot a repetition. Loaded keys have no undo record to go with them.
+    private transient long[] keyHistory = new long[INITIAL_UNDO_CAPACITY];
+    private transient int historyCount;
+
+    // Status of the side to move, and the position, state word and history length it was worked out for. Checked
+    // against the current key on every query, so it also notices boards edited through getBoard.
+    private transient GameStatus status;
+    private transient int legalMoveCount;
+    private transient long statusKey;
+    private transient int statusState = -1;
+    private transient int statusHistory;
+
+    private static final int INITIAL_UNDO_CAPACITY = 64;
+    private static final int FIFTY_MOVE_PLIES = 100;
+    private static final LegalMoveCache MOVE_CACHE = new LegalMoveCache(); // Shared by every game
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = ChessPiece.PieceType.values();
+
     /**
      * @return Which team's turn it is
      */
     public TeamColor getTeamTurn() {
-        return teamTurn;
+        return GameState.sideToMove(state);
     }
 
     /**
@@ -45,7 +77,26 @@ public class ChessGame {
      * @param team the team whose turn it is
      */
     public void setTeamTurn(TeamColor team) {
-        this.teamTurn = team;
+        state = GameState.withSideToMove(state, team);
+    }
+
+    /**
+     * Gets the packed state word: side to move, castling rights, en passant column and halfmove clock
+     *
+     * @return packed state, read with the GameState helpers
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Replaces the packed state word, for loading a position whose castling rights, en passant column or
+     * halfmove clock are known
+     *
+     * @param state packed state built with the GameState helpers
+     */
+    public void setState(int state) {
+        this.state = state;
     }
 
     /**
@@ -56,6 +107,17 @@ public class ChessGame {
         BLACK
     }
 
+    /**
+     * Enum describing where the game stands for the team to move
+     */
+    public enum GameStatus {
+        ONGOING,
+        CHECK,
+        CHECKMATE,
+        STALEMATE,
+        DRAW // Fifty moves without a capture or pawn move, threefold repetition, or too little material to mate
+    }
+
     /**
      * Gets a valid moves for a piece at the given location
      *
@@ -64,41 +126,102 @@ public class ChessGame {
      * startPosition
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        ChessPiece piece = board.getPiece(startPosition);
-        ChessBoard boardCopy = board.copy();
         Collection<ChessMove> validMoves = new HashSet<>();
 
         if (!board.hasPieceAtPos(startPosition))
             return validMoves; // If space has no piece, return empty set
-        for (ChessMove move : piece.pieceMoves(board, startPosition)) {
-            board.removePiece(move.getStartPosition());
-            board.addPiece(move.getEndPosition(), piece);
-            updateKingLoc(move, piece);
-            if (!isInCheck(piece.getTeamColor())) {
-                validMoves.add(move);
-            }
-            setBoard(boardCopy); // Reset board to original state, update the king locations if applicable
-        }
+        for (int move : legalPieceMoves(Bitboards.square(startPosition.getRow(), startPosition.getColumn())))
+            validMoves.add(Move.toChessMove(move));
         return validMoves;
     }
 
+    /**
+     * Get the legal moves for the piece on a square, from the shared cache if this position has come up before
+     * @param square square index of the piece
+     * @return packed legal moves. Shared with the cache, so never changed.
+     */
+    private int[] legalPieceMoves(int square) {
+        long key = getZobristKey();
+        int[] moves = MOVE_CACHE.get(key, square);
+        if (moves == null) {
+            scratchMoves.clear();
+            LegalMoveGenerator.generateLegalPieceMoves(board, square, state, scratchMoves);
+            moves = scratchMoves.toArray();
+            MOVE_CACHE.put(key, square, moves);
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the legal move cache shared by every game, for reading its hit and miss counts
+     *
+     * @return shared legal move cache
+     */
+    public static LegalMoveCache getMoveCache() {
+        return MOVE_CACHE;
+    }
+
+    /**
+     * Gets every legal move for the team to move in one generation pass
+     *
+     * @return new set of legal moves
+     */
+    public Collection<ChessMove> legalMoves() {
+        scratchMoves.clear();
+        return legalMoves(scratchMoves).toChessMoves(new HashSet<>());
+    }
+
+    /**
+     * Appends every legal move for the team to move to a caller's buffer, so repeated calls allocate nothing
+     *
+     * @param moves list to append packed moves to
+     * @return the given list
+     */
+    public MoveList legalMoves(MoveList moves) {
+        LegalMoveGenerator.generateLegalMoves(board, getTeamTurn(), state, moves);
+        return moves;
+    }
+
+    /**
+     * Appends only the legal captures and promotions for the team to move, skipping the quiet moves a
+     * quiescence search would throw away. A team in check needs legalMoves to see every escape.
+     *
+     * @param moves list to append packed moves to
+     * @return the given list
+     */
+    public MoveList legalCaptures(MoveList moves) {
+        LegalMoveGenerator.generateLegalCaptures(board, getTeamTurn(), state, moves);
+        return moves;
+    }
+
+    /**
+     * Gets the number of legal moves the team to move has, cached along with the status
+     *
+     * @return legal move count for the team to move
+     */
+    public int legalMoveCount() {
+        getStatus();
+        return legalMoveCount;
+    }
+
+    /**
+     * Checks if the team to move has any legal move, stopping at the first piece that can move
+     *
+     * @return true if the team to move has a legal move
+     */
+    public boolean hasAnyLegalMove() {
+        return !noValidMovesLeft(getTeamTurn());
+    }
+
     /**
      * Check if a given team has no valid moves left for any of their pieces.
      * @param team team color to check valid moves for
      * @return true if team has no valid moves
      */
     private boolean noValidMovesLeft(ChessGame.TeamColor team) {
-        Collection<ChessMove> moves = new HashSet<>();
-        for (int r = 1; r <= board.GRID_SIZE; r++) {
-            for (int c = 1; c <= board.GRID_SIZE; c++) {
-                ChessPosition posToCheck = new ChessPosition(r, c);
-                if (board.hasPieceAtPos(posToCheck) && board.getPiece(posToCheck).getTeamColor() == team &&
-                        !validMoves(posToCheck).isEmpty()) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        if (team == getTeamTurn() && statusState == state && statusKey == getZobristKey())
+            return legalMoveCount == 0; // Already counted
+        return !LegalMoveGenerator.hasLegalMove(board, team, state, scratchMoves);
     }
 
 
@@ -109,51 +232,151 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        if (isInvalidMove(move))
+        int packedMove = findLegalMove(move);
+        if (packedMove == Move.NONE)
             throw new InvalidMoveException("Illegal move.");
-        ChessPiece movePiece = board.getPiece(move.getStartPosition());
-        board.removePiece(move.getStartPosition());
-        board.addPiece(move.getEndPosition(), movePiece);
-        updateKingLoc(move, movePiece); // Check if piece was a king and update its location
-        validatePromotion(move); // Assert promotion if pawn reaches end of board
-
-        // TODO: Assert if game is over using checkmate/stalemate rules. Flip turn if not over. Set gameOver if over.
-        flipTeamTurn();
+        makeMove(packedMove);
+        gameOver = switch (getStatus()) { // Work out the new status once, for everyone who asks after this move
+            case CHECKMATE, STALEMATE, DRAW -> true;
+            case ONGOING, CHECK -> false;
+        };
     }
 
     /**
-     * Use after making a move to check if a king was moved, and update its location
+     * Applies a packed move in place without checking that it is legal, and records how to take it back.
+     * Use with moves that came from the move generator. Castling also moves the rook, en passant removes the
+     * passed pawn, and the state word moves on to the other team.
      *
-     * @param move chess move that was previously performed
-     * @param piece piece that was moved
-     */
-    private void updateKingLoc(ChessMove move, ChessPiece piece) {
-        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
-            if (piece.getTeamColor() == TeamColor.WHITE)
-                whiteKingLocation = move.getEndPosition();
-            else
-                blackKingLocation = move.getEndPosition();
+     * @param move packed move to apply
+     */
+    public void makeMove(int move) {
+        long previousKey = getZobristKey();
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int movingPiece = board.removePiece(from);
+        int capturedPiece = board.removePiece(captureSquare(move));
+        int placedPiece = Move.isPromotion(move) ?
+                Bitboards.pieceCode(Bitboards.teamOf(movingPiece), PROMOTION_TYPES[Move.promotionIndex(move)]) :
+                movingPiece;
+        board.addPiece(to, placedPiece);
+        if (Move.hasFlag(move, Move.FLAG_CASTLE)) {
+            board.addPiece(castlingRookTo(move), board.removePiece(castlingRookFrom(move)));
+        }
+
+        pushUndo(packUndo(move, capturedPiece, state), previousKey);
+        state = nextState(move, movingPiece, capturedPiece);
+    }
+
+    /**
+     * Takes back the most recent move applied with makeMove, restoring the board and state word exactly.
+     */
+    public void unmakeMove() {
+        long undo = undoStack[--undoCount];
+        historyCount--;
+        int move = (int) undo;
+        int capturedPiece = (int) ((undo >>> 32) & 0xF) - 1;
+        int from = Move.from(move);
+        int to = Move.to(move);
+
+        state = (int) (undo >>> 36);
+        int placedPiece = board.removePiece(to);
+        int movingPiece = Move.isPromotion(move) ?
+                Bitboards.pieceCode(Bitboards.teamOf(placedPiece), ChessPiece.PieceType.PAWN) : placedPiece;
+        board.addPiece(from, movingPiece);
+        if (capturedPiece != Bitboards.NO_PIECE) {
+            board.addPiece(captureSquare(move), capturedPiece);
+        }
+        if (Move.hasFlag(move, Move.FLAG_CASTLE)) {
+            board.addPiece(castlingRookFrom(move), board.removePiece(castlingRookTo(move)));
+        }
+    }
+
+    /**
+     * Passes the turn to the other team without moving a piece. Not a legal chess move: the search uses it to
+     * ask whether a position is so good that even doing nothing keeps it ahead. Any en passant chance is
+     * dropped and the halfmove clock advances.
+     */
+    public void makeNullMove() {
+        pushUndo(packUndo(Move.NONE, Bitboards.NO_PIECE, state), getZobristKey());
+        TeamColor opponent = (getTeamTurn() == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        state = GameState.withHalfmoveClock(GameState.withSideToMove(state, opponent),
+                GameState.halfmoveClock(state) + 1);
+    }
+
+    /**
+     * Takes back a pass made with makeNullMove
+     */
+    public void unmakeNullMove() {
+        state = (int) (undoStack[--undoCount] >>> 36);
+        historyCount--;
+    }
+
+    /**
+     * Record how to take back a move, and the position key from before it
+     */
+    private void pushUndo(long undo, long previousKey) {
+        if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
         }
+        if (historyCount == keyHistory.length) {
+            keyHistory = Arrays.copyOf(keyHistory, keyHistory.length * 2);
+        }
+        undoStack[undoCount++] = undo;
+        keyHistory[historyCount++] = previousKey;
     }
 
     /**
-     * Assert promotion for pawn. Used right after a move is made.
-     * @param move
+     * Work out the state word after a move: flip the side to move, drop castling rights the move gave up,
+     * record an en passant column if the move was a double pawn push the opponent can capture, and advance
+     * or reset the halfmove clock
      */
-    private void validatePromotion(ChessMove move) {
-        int row = move.getEndPosition().getRow(); // Evaluate row piece ended on
-        if (board.getPiece(move.getEndPosition()).getPieceType() == ChessPiece.PieceType.PAWN &&
-                (row == 1 || row == 8)) {
-            board.removePiece(move.getEndPosition());
-            board.addPiece(move.getEndPosition(), new ChessPiece(teamTurn, move.getPromotionPiece()));
+    private int nextState(int move, int movingPiece, int capturedPiece) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        TeamColor mover = Bitboards.teamOf(movingPiece);
+        TeamColor opponent = (mover == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+
+        int next = GameState.withSideToMove(GameState.updateCastlingRights(state, from, to), opponent);
+        if (Move.hasFlag(move, Move.FLAG_DOUBLE_PAWN_PUSH)) {
+            int passed = (from + to) >>> 1;
+            if ((AttackTables.pawnAttacks(mover.ordinal(), passed) &
+                    board.getPieces(opponent, ChessPiece.PieceType.PAWN)) != 0) {
+                next = GameState.withEnPassantFile(next, Bitboards.columnOf(passed) - 1);
+            }
         }
+        boolean resetsClock = capturedPiece != Bitboards.NO_PIECE ||
+                Bitboards.typeOf(movingPiece) == ChessPiece.PieceType.PAWN;
+        return GameState.withHalfmoveClock(next, resetsClock ? 0 : GameState.halfmoveClock(state) + 1);
+    }
+
+    /**
+     * @return square of the piece a move captures: the end square, or the passed pawn's square for en passant
+     */
+    private static int captureSquare(int move) {
+        int to = Move.to(move);
+        return Move.hasFlag(move, Move.FLAG_EN_PASSANT) ? to ^ 8 : to;
+    }
+
+    /**
+     * @return home square of the rook that a castling move brings along
+     */
+    private static int castlingRookFrom(int move) {
+        return (Move.to(move) > Move.from(move)) ? Move.from(move) + 3 : Move.from(move) - 4;
+    }
+
+    /**
+     * @return square the rook lands on during a castling move, the one the king crosses
+     */
+    private static int castlingRookTo(int move) {
+        return (Move.from(move) + Move.to(move)) >>> 1;
     }
 
     /**
-     * Flips the team turn. Performed after each move.
+     * Pack an undo record: the move in the low 32 bits, the captured piece code + 1 (0 for none) in the next
+     * 4 bits, and the state word from before the move above that
      */
-    private void flipTeamTurn() {
-        teamTurn = (teamTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+    private static long packUndo(int move, int capturedPiece, int previousState) {
+        return (move & 0xFFFFFFFFL) | ((long) (capturedPiece + 1) << 32) | ((long) previousState << 36);
     }
 
     /**
@@ -163,10 +386,11 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-
-        ChessPosition posToCheck = (teamColor == TeamColor.WHITE) ? whiteKingLocation : blackKingLocation;
-        CheckCalculator checkCalc = new CheckCalculator();
-        return checkCalc.positionInDanger(this.board, posToCheck);
+        int kingSquare = board.getKingSquare(teamColor);
+        if (kingSquare == Bitboards.NO_SQUARE)
+            return false; // A board without a king can't be in check
+        TeamColor opponent = (teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        return CheckCalculator.isSquareAttacked(board, kingSquare, opponent);
     }
 
     /**
@@ -191,35 +415,123 @@ public class ChessGame {
     }
 
     /**
-     * Test the validity of a move.
-     * @param move the ChessMove object to evaluate
-     * @return true if the move is invalid, incomplete, doesn't move a piece, is out of bounds, or moves out of turn.
+     * Gets the status of the team to move. Worked out once per position and then served from a cache, so
+     * repeated calls after a move are constant time.
+     *
+     * @return status of the team to move
      */
-    private boolean isInvalidMove(ChessMove move) {
-        Collection<ChessMove> validMoves = validMoves(move.getStartPosition());
-        if (!validMoves.contains(move) || move.getStartPosition() == null || move.getEndPosition() == null ||
-                !move.getEndPosition().isInBounds())
-            return true;
-        return (board.getPiece(move.getStartPosition()).getTeamColor() != teamTurn); // Check whose turn it is
+    public GameStatus getStatus() {
+        long key = getZobristKey();
+        if (statusState != state || statusKey != key || statusHistory != historyCount) {
+            updateStatus(key);
+        }
+        return status;
     }
 
+    /**
+     * @return true once a move has ended the game by checkmate, stalemate or a draw
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
 
     /**
-     * Locates king with given team color and returns its coordinates.
-     * @return ChessPosition object of king's location
+     * Work out and cache the status of the team to move
+     * @param key current position key
      */
-    private ChessPosition findKing(ChessGame.TeamColor team) {
-        ChessPiece kingToFind = new ChessPiece(team, ChessPiece.PieceType.KING);
-        for (int r = 1; r <= board.GRID_SIZE; r++) {
-            for (int c = 1; c <= board.GRID_SIZE; c++) {
-                ChessPosition searchPos = new ChessPosition(r, c);
-                if (board.hasPieceAtPos(searchPos) && board.getPiece(searchPos).equals(kingToFind))
-                    return searchPos;
-            }
+    private void updateStatus(long key) {
+        TeamColor team = getTeamTurn();
+        scratchMoves.clear();
+        legalMoveCount = legalMoves(scratchMoves).size();
+        boolean inCheck = isInCheck(team);
+        if (legalMoveCount == 0)
+            status = inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        else if (GameState.halfmoveClock(state) >= FIFTY_MOVE_PLIES || isThreefoldRepetition(key) ||
+                isInsufficientMaterial())
+            status = GameStatus.DRAW;
+        else
+            status = inCheck ? GameStatus.CHECK : GameStatus.ONGOING;
+        statusKey = key;
+        statusState = state;
+        statusHistory = historyCount;
+    }
+
+    /**
+     * Checks if the current position has come up before since the last capture or pawn move, or if the
+     * fifty-move rule applies. Cheaper than getStatus since no moves are generated, which suits a search that
+     * scores any repeat as a draw.
+     *
+     * @return true if the position repeats or fifty moves have passed without progress
+     */
+    public boolean isRepetitionOrFiftyMove() {
+        return GameState.halfmoveClock(state) >= FIFTY_MOVE_PLIES || countRepetitions(getZobristKey(), 1) >= 1;
+    }
+
+    /**
+     * Check if the current position has come up twice before
+     * @param key current position key
+     */
+    private boolean isThreefoldRepetition(long key) {
+        return countRepetitions(key, 2) >= 2;
+    }
+
+    /**
+     * Count earlier occurrences of a position. Only positions since the last capture or pawn move can match,
+     * and only every other one has the same team to move. The search's null moves aren't legal play, so the
+     * positions before one never count.
+     * @param key current position key
+     * @param stopAt count to stop looking at
+     * @return occurrences found, at most stopAt
+     */
+    private int countRepetitions(long key, int stopAt) {
+        int earliest = Math.max(0, historyCount - GameState.halfmoveClock(state));
+        int loaded = historyCount - undoCount; // Keys loaded with the game come before every undo record
+        int repeats = 0;
+        for (int ply = historyCount - 1; ply >= earliest && repeats < stopAt; ply--) {
+            if (ply >= loaded && (int) undoStack[ply - loaded] == Move.NONE)
+                break; // A null move was made from this position
+            if (((historyCount - ply) & 1) == 0 && keyHistory[ply] == key)
+                repeats++;
+        }
+        return repeats;
+    }
+
+    /**
+     * Check if neither team has enough material left to checkmate: bare kings, or one knight or bishop
+     */
+    private boolean isInsufficientMaterial() {
+        long kings = board.getPieces(TeamColor.WHITE, ChessPiece.PieceType.KING) |
+                board.getPieces(TeamColor.BLACK, ChessPiece.PieceType.KING);
+        long others = board.getOccupied() & ~kings;
+        if (others == 0)
+            return true;
+        if (Long.bitCount(others) > 1)
+            return false;
+        int code = board.getPieceCode(Long.numberOfTrailingZeros(others));
+        ChessPiece.PieceType type = Bitboards.typeOf(code);
+        return type == ChessPiece.PieceType.KNIGHT || type == ChessPiece.PieceType.BISHOP;
+    }
+
+    /**
+     * Test the validity of a move.
+     * @param move the ChessMove object to evaluate
+     * @return the matching packed legal move, or Move.NONE if the move is invalid, incomplete, doesn't move a
+     * piece, is out of bounds, or moves out of turn.
+     */
+    private int findLegalMove(ChessMove move) {
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        if (start == null || end == null || !end.isInBounds() || !board.hasPieceAtPos(start) ||
+                board.getPiece(start).getTeamColor() != getTeamTurn()) // Check whose turn it is
+            return Move.NONE;
+        for (int legalMove : legalPieceMoves(Bitboards.square(start.getRow(), start.getColumn()))) {
+            if (Move.matches(legalMove, move))
+                return legalMove;
         }
-        return null;
+        return Move.NONE;
     }
 
+
     /**
      * Sets this game's chessboard with a given board
      *
@@ -227,8 +539,45 @@ public class ChessGame {
      */
     public void setBoard(ChessBoard board) {
         this.board = board.copy();
-        whiteKingLocation = findKing(TeamColor.WHITE);
-        blackKingLocation = findKing(TeamColor.BLACK);
+        undoCount = 0; // Earlier moves no longer apply to this board
+        historyCount = 0;
+        // With no history to go on, assume kings and rooks still on their home squares haven't moved
+        state = GameState.of(getTeamTurn(), GameState.inferCastlingRights(this.board));
+        gameOver = false;
+        statusState = -1; // Work the status out again for the new board
+    }
+
+    /**
+     * Gets the Zobrist hash of this game's position: the pieces on the board, the team to move, castling
+     * rights and en passant column. Updated incrementally as pieces move, so this is constant time.
+     *
+     * @return 64-bit position key
+     */
+    public long getZobristKey() {
+        long key = board.getZobristKey() ^ Zobrist.castlingKey(GameState.castlingIndex(state));
+        if (GameState.sideToMove(state) == TeamColor.BLACK)
+            key ^= Zobrist.blackToMoveKey();
+        int enPassantFile = GameState.enPassantFile(state);
+        if (enPassantFile >= 0)
+            key ^= Zobrist.enPassantKey(enPassantFile);
+        return key;
+    }
+
+    /**
+     * Returns a ChessGame copy with its own board, state and move history, so it can be searched or moved on
+     * another thread without touching this game.
+     * @return clone of this chess game object
+     */
+    public ChessGame copy() {
+        ChessGame cloneGame = new ChessGame();
+        cloneGame.board = this.board.copy();
+        cloneGame.state = this.state;
+        cloneGame.gameOver = this.gameOver;
+        cloneGame.undoStack = this.undoStack.clone();
+        cloneGame.keyHistory = this.keyHistory.clone();
+        cloneGame.undoCount = this.undoCount;
+        cloneGame.historyCount = this.historyCount;
+        return cloneGame;
     }
 
     /**
@@ -249,11 +598,85 @@ public class ChessGame {
             return false;
         }
         ChessGame game = (ChessGame) o;
-        return board.equals(game.board) && teamTurn == game.teamTurn;
+        return board.equals(game.board) &&
+                GameState.positionBits(state) == GameState.positionBits(game.state); // Clock doesn't matter
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, teamTurn);
+        return Long.hashCode(getZobristKey());
+    }
+
+    /**
+     * Reads and writes games as JSON: the board, the packed state word, whether the game is over, and the
+     * position keys since the last capture or pawn move. The server loads the game again for every move, so
+     * without those keys a repetition could never be seen. Games saved before the state word existed have only
+     * the team to move, so their castling rights are inferred from the board the same way setBoard does.
+     */
+    static class GsonAdapter extends TypeAdapter<ChessGame> {
+
+        private final ChessBoard.GsonAdapter boardAdapter = new ChessBoard.GsonAdapter();
+
+        @Override
+        public void write(JsonWriter out, ChessGame game) throws IOException {
+            if (game == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("board");
+            boardAdapter.write(out, game.board);
+            out.name("state").value(game.state);
+            out.name("gameOver").value(game.gameOver);
+            out.name("history").beginArray();
+            int clock = GameState.halfmoveClock(game.state);
+            for (int ply = Math.max(0, game.historyCount - clock); ply < game.historyCount; ply++) {
+                out.value(game.keyHistory[ply]);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public ChessGame read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ChessGame game = new ChessGame();
+            Integer state = null;
+            TeamColor teamTurn = TeamColor.WHITE;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "board" -> {
+                        ChessBoard board = boardAdapter.read(in);
+                        if (board != null) {
+                            game.board = board;
+                        }
+                    }
+                    case "state" -> state = in.nextInt();
+                    case "teamTurn" -> teamTurn = TeamColor.valueOf(in.nextString());
+                    case "gameOver" -> game.gameOver = in.nextBoolean();
+                    case "history" -> readHistory(in, game);
+                    default -> in.skipValue(); // Such as the king locations older versions kept
+                }
+            }
+            in.endObject();
+            game.state = (state != null) ? state :
+                    GameState.of(teamTurn, GameState.inferCastlingRights(game.board));
+            return game;
+        }
+
+        private static void readHistory(JsonReader in, ChessGame game) throws IOException {
+            in.beginArray();
+            while (in.hasNext()) {
+                if (game.historyCount == game.keyHistory.length) {
+                    game.keyHistory = Arrays.copyOf(game.keyHistory, game.keyHistory.length * 2);
+                }
+                game.keyHistory[game.historyCount++] = in.nextLong();
+            }
+            in.endArray();
+        }
     }
 }
@@ -2,9 +2,14 @@ package chess;
 
 import java.util.Objects;
 
+import chess.bitboard.Bitboards;
+
 /**
  * Represents moving a chess piece on a chessboard
  * <p>
+ * Moves are immutable. Use {@link #of(ChessPosition, ChessPosition, ChessPiece.PieceType)} to get the
+ * shared instance for a move instead of allocating a new one.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
@@ -26,9 +31,51 @@ public class ChessMove {
     /**
      * Private data
      */
-    private ChessPosition start;
-    private ChessPosition end;
-    private ChessPiece.PieceType promotionType;
+    private final ChessPosition start;
+    private final ChessPosition end;
+    private final ChessPiece.PieceType promotionType;
+
+    // Shared moves indexed by start square, end square and promotion slot (0 for none, else type ordinal + 1).
+    // Filled in lazily. Two threads racing on a slot both store an equal move, and final fields make either safe
+    // to read.
+    private static final int PROMOTION_SLOTS = ChessPiece.PieceType.values().length + 1;
+    private static final ChessMove[] MOVES =
+            new ChessMove[Bitboards.NUM_SQUARES * Bitboards.NUM_SQUARES * PROMOTION_SLOTS];
+
+    /**
+     * Get the shared move for a start, end and promotion piece
+     * @param startPosition start position
+     * @param endPosition end position
+     * @param promotionPiece piece a pawn promotes to, or null if not a promotion
+     * @return shared move, or a new one if either position is off the board
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition,
+                               ChessPiece.PieceType promotionPiece) {
+        if (!startPosition.isInBounds() || !endPosition.isInBounds()) {
+            return new ChessMove(startPosition, endPosition, promotionPiece);
+        }
+        int from = Bitboards.square(startPosition.getRow(), startPosition.getColumn());
+        int to = Bitboards.square(endPosition.getRow(), endPosition.getColumn());
+        return of(from, to, promotionPiece);
+    }
+
+    /**
+     * Get the shared move between two square indices
+     * @param from start square index from 0 to 63
+     * @param to end square index from 0 to 63
+     * @param promotionPiece piece a pawn promotes to, or null if not a promotion
+     * @return shared move
+     */
+    public static ChessMove of(int from, int to, ChessPiece.PieceType promotionPiece) {
+        int slot = (promotionPiece == null) ? 0 : promotionPiece.ordinal() + 1;
+        int index = (from * Bitboards.NUM_SQUARES + to) * PROMOTION_SLOTS + slot;
+        ChessMove move = MOVES[index];
+        if (move == null) {
+            move = new ChessMove(ChessPosition.of(from), ChessPosition.of(to), promotionPiece);
+            MOVES[index] = move;
+        }
+        return move;
+    }
 
     /**
      * @return ChessPosition of starting location
@@ -68,7 +115,7 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(start, end, promotionType);
+        return 31 * (31 * Objects.hashCode(start) + Objects.hashCode(end)) + Objects.hashCode(promotionType);
     }
 }
 
@@ -1,13 +1,18 @@
 package chess;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Objects;
-import chess.moves.*;
+
+import chess.bitboard.Bitboards;
+import chess.moves.MoveGenerator;
+import chess.moves.MoveList;
 
 /**
  * Represents a single chess piece
  * <p>
+ * Pieces are immutable. Use {@link #of(ChessGame.TeamColor, PieceType)} to get the shared instance
+ * for a team and type instead of allocating a new one.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
@@ -34,7 +39,35 @@ public class ChessPiece {
      * Private data
      */
     final private ChessGame.TeamColor color;
-    private PieceType type;
+    final private PieceType type;
+
+    // One shared instance per piece code
+    private static final ChessPiece[] PIECES = new ChessPiece[Bitboards.NUM_PIECE_CODES];
+
+    static {
+        for (int code = 0; code < Bitboards.NUM_PIECE_CODES; code++) {
+            PIECES[code] = new ChessPiece(Bitboards.teamOf(code), Bitboards.typeOf(code));
+        }
+    }
+
+    /**
+     * Get the shared piece for a team and piece type
+     * @param pieceColor team color of piece
+     * @param type piece type
+     * @return shared piece
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, PieceType type) {
+        return PIECES[Bitboards.pieceCode(pieceColor, type)];
+    }
+
+    /**
+     * Get the shared piece for a piece code
+     * @param pieceCode piece code from 0 to 11
+     * @return shared piece
+     */
+    public static ChessPiece of(int pieceCode) {
+        return PIECES[pieceCode];
+    }
 
 
     /**
@@ -59,39 +92,17 @@ public class ChessPiece {
      * @return Collection of valid moves
      */
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        HashSet<ChessMove> moves = new HashSet<>();
-
-        switch (board.getPiece(myPosition).getPieceType()) {
-            case ROOK -> {
-                RookMovesCalc rookCalc = new RookMovesCalc();
-                moves.addAll(rookCalc.getRookMoves(board, myPosition));
-            }
-            case KNIGHT -> {
-                KnightMovesCalc knightCalc = new KnightMovesCalc();
-                moves.addAll(knightCalc.getKnightMoves(board, myPosition));
-            }
-            case BISHOP -> {
-                BishopMovesCalc bishopCalc = new BishopMovesCalc();
-                moves.addAll(bishopCalc.getBishopMoves(board, myPosition));
-            }
-            case QUEEN -> {
-                QueenMovesCalc queenCalc = new QueenMovesCalc();
-                moves.addAll(queenCalc.getQueenMoves(board, myPosition));
-            }
-            case KING -> {
-                KingMovesCalc kingCalc = new KingMovesCalc();
-                moves.addAll(kingCalc.getKingMoves(board, myPosition));
-            }
-            case PAWN -> {
-                PawnMovesCalc pawnCalc = new PawnMovesCalc();
-                moves.addAll(pawnCalc.getPawnMoves(board, myPosition));
-            }
-        }
-        return moves;
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePieceMoves(board, Bitboards.square(myPosition.getRow(), myPosition.getColumn()), moves);
+        return moves.toChessMoves();
     }
 
+    /**
+     * Pieces are immutable, so a copy is the same object
+     * @return this piece
+     */
     public ChessPiece copy() {
-        return new ChessPiece(color, type);
+        return this;
     }
 
     @Override
@@ -116,6 +127,9 @@ public class ChessPiece {
 
     @Override
     public int hashCode() {
-        return Objects.hash(color, type);
+        if (color == null || type == null) {
+            return Objects.hash(color, type); // Not a real piece, so it has no piece code
+        }
+        return Bitboards.pieceCode(color, type);
     }
 }
@@ -1,10 +1,13 @@
 package chess;
 
-import java.util.Objects;
+import chess.bitboard.Bitboards;
 
 /**
  * Represents a single square position on a chess board
  * <p>
+ * Positions are immutable. Use {@link #of(int, int)} to get the shared instance for a square
+ * instead of allocating a new one.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
@@ -12,6 +15,15 @@ public class ChessPosition {
 
     private static final int GRID_SIZE = 8;
 
+    // One shared instance per square, indexed by square index
+    private static final ChessPosition[] POSITIONS = new ChessPosition[Bitboards.NUM_SQUARES];
+
+    static {
+        for (int square = 0; square < Bitboards.NUM_SQUARES; square++) {
+            POSITIONS[square] = new ChessPosition(Bitboards.rowOf(square), Bitboards.columnOf(square));
+        }
+    }
+
     public ChessPosition(int row, int col) {
         this.row = row;
         this.col = col;
@@ -20,8 +32,30 @@ public class ChessPosition {
     /**
      * Private data
      */
-    private int row;
-    private int col;
+    private final int row;
+    private final int col;
+
+    /**
+     * Get the shared position for a row and column
+     * @param row row from 1 to 8
+     * @param col column from 1 to 8
+     * @return shared position, or a new one if the row or column is off the board
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row <= GRID_SIZE && row > 0 && col <= GRID_SIZE && col > 0) {
+            return POSITIONS[Bitboards.square(row, col)];
+        }
+        return new ChessPosition(row, col);
+    }
+
+    /**
+     * Get the shared position for a square index
+     * @param square square index from 0 to 63
+     * @return shared position
+     */
+    public static ChessPosition of(int square) {
+        return POSITIONS[square];
+    }
 
 
     /**
@@ -46,40 +80,13 @@ public class ChessPosition {
     public boolean isInBounds() {
         return (row <= GRID_SIZE && row > 0 && col <= GRID_SIZE && col > 0);
     }
-    /**
-     * Increment the row
-     */
-    public void incRow() {
-        row += 1;
-    }
-
-    /**
-     * Decrement the row
-     */
-    public void decRow() {
-        row -= 1;
-    }
 
     /**
-     * Increment the column
-     */
-    public void incCol() {
-        col += 1;
-    }
-
-    /**
-     * Decrement the column
-     */
-    public void decCol() {
-        col -= 1;
-    }
-
-    /**
-     * Get a copy of this chess position object
-     * @return duplicate of chess position
+     * Get a copy of this chess position object. Positions are immutable, so this is the same object.
+     * @return this chess position
      */
     public ChessPosition copy() {
-        return new ChessPosition(row, col);
+        return this;
     }
 
 
@@ -105,6 +112,6 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * row + col;
     }
 }
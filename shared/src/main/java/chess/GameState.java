@@ -0,0 +1,176 @@
+package chess;
+
+import chess.bitboard.Bitboards;
+
+import java.util.Arrays;
+
+/**
+ * Packs everything about a position that isn't on the board into a single int, so it can be saved and
+ * restored with one assignment when moves are made and taken back.
+ * <p>
+ *     Layout, from the lowest bit: side to move (1 bit, set when black is to move), castling rights
+ *     (4 bits), en passant column + 1 or 0 for none (4 bits), and the halfmove clock (10 bits).
+ * </p>
+ * <p>
+ *     The en passant column is only recorded when a pawn of the side to move stands ready to make the
+ *     capture, so positions that only differ by an unusable en passant square compare and hash the same.
+ * </p>
+ */
+public final class GameState {
+
+    private GameState() {}
+
+    public static final int BLACK_TO_MOVE = 1;
+
+    public static final int WHITE_KINGSIDE = 1 << 1;
+    public static final int WHITE_QUEENSIDE = 1 << 2;
+    public static final int BLACK_KINGSIDE = 1 << 3;
+    public static final int BLACK_QUEENSIDE = 1 << 4;
+    public static final int ALL_CASTLING = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+
+    public static final int MAX_HALFMOVE_CLOCK = 1023;
+
+    private static final int CASTLING_SHIFT = 1;
+    private static final int EN_PASSANT_SHIFT = 5;
+    private static final int EN_PASSANT_MASK = 0xF << EN_PASSANT_SHIFT;
+    private static final int HALFMOVE_SHIFT = 9;
+    private static final int HALFMOVE_MASK = MAX_HALFMOVE_CLOCK << HALFMOVE_SHIFT;
+
+    // Home squares of the kings and rooks, which decide castling rights
+    public static final int WHITE_KING_HOME = 4;
+    public static final int BLACK_KING_HOME = 60;
+    private static final int[] ROOK_HOMES = {7, 0, 63, 56}; // Same order as the castling right bits
+
+    // Castling rights kept when a piece moves from or to each square. Moving the king or a rook, or capturing
+    // a rook on its home square, gives up the matching rights.
+    private static final int[] RIGHTS_KEPT = new int[Bitboards.NUM_SQUARES];
+
+    static {
+        Arrays.fill(RIGHTS_KEPT, ~0);
+        RIGHTS_KEPT[WHITE_KING_HOME] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        RIGHTS_KEPT[BLACK_KING_HOME] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        for (int i = 0; i < ROOK_HOMES.length; i++) {
+            RIGHTS_KEPT[ROOK_HOMES[i]] = ~(WHITE_KINGSIDE << i);
+        }
+    }
+
+    /**
+     * Start a state word with the given side to move and castling rights, no en passant and a zero clock
+     * @param team team to move
+     * @param castlingRights any combination of the castling right bits
+     * @return packed state
+     */
+    public static int of(ChessGame.TeamColor team, int castlingRights) {
+        return ((team == ChessGame.TeamColor.BLACK) ? BLACK_TO_MOVE : 0) | (castlingRights & ALL_CASTLING);
+    }
+
+    /**
+     * @return team to move
+     */
+    public static ChessGame.TeamColor sideToMove(int state) {
+        return ((state & BLACK_TO_MOVE) != 0) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    /**
+     * @return state with the given team to move and en passant cleared, since it belonged to the other team
+     */
+    public static int withSideToMove(int state, ChessGame.TeamColor team) {
+        state &= ~(BLACK_TO_MOVE | EN_PASSANT_MASK);
+        return (team == ChessGame.TeamColor.BLACK) ? state | BLACK_TO_MOVE : state;
+    }
+
+    /**
+     * @return castling right bits that are still available
+     */
+    public static int castlingRights(int state) {
+        return state & ALL_CASTLING;
+    }
+
+    /**
+     * @return state with its castling rights replaced
+     */
+    public static int withCastlingRights(int state, int castlingRights) {
+        return (state & ~ALL_CASTLING) | (castlingRights & ALL_CASTLING);
+    }
+
+    /**
+     * @return castling rights index from 0 to 15, used for hashing
+     */
+    public static int castlingIndex(int state) {
+        return (state & ALL_CASTLING) >>> CASTLING_SHIFT;
+    }
+
+    /**
+     * @return state with the rights given up by a piece leaving one square and landing on another removed
+     */
+    public static int updateCastlingRights(int state, int from, int to) {
+        return state & RIGHTS_KEPT[from] & RIGHTS_KEPT[to];
+    }
+
+    /**
+     * Work out castling rights from a board alone: a right is kept when the king and that rook both stand on
+     * their home squares. Used when a board is loaded without any move history.
+     * @param board current arrangement of chess pieces
+     * @return castling right bits
+     */
+    public static int inferCastlingRights(ChessBoard board) {
+        int rights = 0;
+        for (int i = 0; i < ROOK_HOMES.length; i++) {
+            ChessGame.TeamColor team = (i < 2) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+            int kingHome = (i < 2) ? WHITE_KING_HOME : BLACK_KING_HOME;
+            if (board.getPieceCode(kingHome) == Bitboards.pieceCode(team, ChessPiece.PieceType.KING) &&
+                    board.getPieceCode(ROOK_HOMES[i]) == Bitboards.pieceCode(team, ChessPiece.PieceType.ROOK)) {
+                rights |= WHITE_KINGSIDE << i;
+            }
+        }
+        return rights;
+    }
+
+    /**
+     * @return column index from 0 to 7 a pawn can be captured en passant on, or -1 for none
+     */
+    public static int enPassantFile(int state) {
+        return ((state & EN_PASSANT_MASK) >>> EN_PASSANT_SHIFT) - 1;
+    }
+
+    /**
+     * @return state with the en passant column set, or cleared when the file is -1
+     */
+    public static int withEnPassantFile(int state, int file) {
+        return (state & ~EN_PASSANT_MASK) | ((file + 1) << EN_PASSANT_SHIFT);
+    }
+
+    /**
+     * @return square the side to move captures onto en passant, or NO_SQUARE for none
+     */
+    public static int enPassantSquare(int state) {
+        int file = enPassantFile(state);
+        if (file < 0) {
+            return Bitboards.NO_SQUARE;
+        }
+        return ((state & BLACK_TO_MOVE) != 0) ? Bitboards.square(3, file + 1) : Bitboards.square(6, file + 1);
+    }
+
+    /**
+     * @return halfmove clock: moves since the last capture or pawn move
+     */
+    public static int halfmoveClock(int state) {
+        return (state & HALFMOVE_MASK) >>> HALFMOVE_SHIFT;
+    }
+
+    /**
+     * @return state with the halfmove clock set, kept between 0 and MAX_HALFMOVE_CLOCK so it can't spill into
+     * the other fields
+     */
+    public static int withHalfmoveClock(int state, int clock) {
+        int bounded = Math.max(0, Math.min(clock, MAX_HALFMOVE_CLOCK));
+        return (state & ~HALFMOVE_MASK) | (bounded << HALFMOVE_SHIFT);
+    }
+
+    /**
+     * @return state without the halfmove clock, which is all that matters when comparing positions
+     */
+    public static int positionBits(int state) {
+        return state & ~HALFMOVE_MASK;
+    }
+}
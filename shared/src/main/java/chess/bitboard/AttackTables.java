@@ -0,0 +1,276 @@
+package chess.bitboard;
+
+/**
+ * Precomputed attack sets for every piece type, built once when the class loads.
+ * <p>
+ *     Knight, king and pawn attacks are plain per-square lookups. Rook and bishop attacks use magic
+ *     bitboards: the blockers on a slider's rays are multiplied by a per-square magic number so that the
+ *     top bits of the product form a unique index into a table of attack sets. Looking up a slider's
+ *     attacks is one mask, one multiply, one shift and one array load.
+ * </p>
+ * <p>
+ *     Magic numbers are searched for with a fixed seed, so the tables are identical on every run.
+ * </p>
+ */
+public final class AttackTables {
+
+    private AttackTables() {}
+
+    private static final long[] KNIGHT_ATTACKS = new long[Bitboards.NUM_SQUARES];
+    private static final long[] KING_ATTACKS = new long[Bitboards.NUM_SQUARES];
+    private static final long[][] PAWN_ATTACKS = new long[2][Bitboards.NUM_SQUARES]; // Indexed by team ordinal
+
+    private static final long[] ROOK_MASKS = new long[Bitboards.NUM_SQUARES];
+    private static final long[] ROOK_MAGICS = new long[Bitboards.NUM_SQUARES];
+    private static final int[] ROOK_SHIFTS = new int[Bitboards.NUM_SQUARES];
+    private static final int[] ROOK_OFFSETS = new int[Bitboards.NUM_SQUARES];
+    private static final long[] ROOK_TABLE;
+
+    private static final long[] BISHOP_MASKS = new long[Bitboards.NUM_SQUARES];
+    private static final long[] BISHOP_MAGICS = new long[Bitboards.NUM_SQUARES];
+    private static final int[] BISHOP_SHIFTS = new int[Bitboards.NUM_SQUARES];
+    private static final int[] BISHOP_OFFSETS = new int[Bitboards.NUM_SQUARES];
+    private static final long[] BISHOP_TABLE;
+
+    // Squares strictly between two squares sharing a line, and the whole line through them. Empty otherwise.
+    private static final long[][] BETWEEN = new long[Bitboards.NUM_SQUARES][Bitboards.NUM_SQUARES];
+    private static final long[][] LINE = new long[Bitboards.NUM_SQUARES][Bitboards.NUM_SQUARES];
+
+    private static final int[][] KNIGHT_OFFSETS = {
+            {2, -1}, {2, 1}, {1, -2}, {1, 2}, {-1, -2}, {-1, 2}, {-2, -1}, {-2, 1}
+    };
+    private static final int[][] KING_OFFSETS = {
+            {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}
+    };
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long MAGIC_SEED = 0x2545F4914F6CDD1DL;
+
+    static {
+        for (int square = 0; square < Bitboards.NUM_SQUARES; square++) {
+            KNIGHT_ATTACKS[square] = offsetAttacks(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = offsetAttacks(square, KING_OFFSETS);
+            PAWN_ATTACKS[0][square] = offsetAttacks(square, new int[][]{{1, -1}, {1, 1}});
+            PAWN_ATTACKS[1][square] = offsetAttacks(square, new int[][]{{-1, -1}, {-1, 1}});
+        }
+        long[] seed = {MAGIC_SEED};
+        ROOK_TABLE = initMagics(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS, seed);
+        BISHOP_TABLE = initMagics(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS, seed);
+        initLines();
+    }
+
+    /**
+     * @return squares a knight on the given square attacks
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * @return squares a king on the given square attacks
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @param teamIndex 0 for a white pawn, 1 for a black pawn
+     * @param square square the pawn sits on
+     * @return squares the pawn attacks diagonally
+     */
+    public static long pawnAttacks(int teamIndex, int square) {
+        return PAWN_ATTACKS[teamIndex][square];
+    }
+
+    /**
+     * Squares a rook attacks, including the first blocker in each direction regardless of its team
+     * @param square square the rook sits on
+     * @param occupied bitboard of every occupied square
+     * @return attacked squares
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSETS[square] +
+                (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * Squares a bishop attacks, including the first blocker in each direction regardless of its team
+     * @param square square the bishop sits on
+     * @param occupied bitboard of every occupied square
+     * @return attacked squares
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] +
+                (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * Squares a queen attacks, the union of rook and bishop attacks
+     * @param square square the queen sits on
+     * @param occupied bitboard of every occupied square
+     * @return attacked squares
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Squares strictly between two squares on the same row, column or diagonal
+     * @return between squares, or an empty bitboard if the squares don't share a line
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * The full row, column or diagonal running through two squares, edge to edge
+     * @return line squares, or an empty bitboard if the squares don't share a line
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * Fill the between and line tables using the slider tables built above
+     */
+    private static void initLines() {
+        for (int a = 0; a < Bitboards.NUM_SQUARES; a++) {
+            for (int b = 0; b < Bitboards.NUM_SQUARES; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long bBit = Bitboards.bit(b);
+                if ((rookAttacks(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, bBit) & rookAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | Bitboards.bit(a) | bBit;
+                } else if ((bishopAttacks(a, 0L) & bBit) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, bBit) & bishopAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | Bitboards.bit(a) | bBit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build attacks for a leaping piece from a list of row/column offsets
+     */
+    private static long offsetAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        int row = Bitboards.rowOf(square);
+        int col = Bitboards.columnOf(square);
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            if (r >= 1 && r <= 8 && c >= 1 && c <= 8) {
+                attacks |= Bitboards.bit(Bitboards.square(r, c));
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Walk each ray from a square until the board edge or a blocker. Only used to fill in the tables.
+     * @param square start square
+     * @param directions row/column steps of each ray
+     * @param occupied blockers
+     * @param excludeEdges leave off the last square of each ray, giving the relevant blocker mask
+     * @return attacked squares
+     */
+    private static long slidingAttacks(int square, int[][] directions, long occupied, boolean excludeEdges) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            int r = Bitboards.rowOf(square) + direction[0];
+            int c = Bitboards.columnOf(square) + direction[1];
+            while (r >= 1 && r <= 8 && c >= 1 && c <= 8) {
+                int nextR = r + direction[0];
+                int nextC = c + direction[1];
+                if (excludeEdges && (nextR < 1 || nextR > 8 || nextC < 1 || nextC > 8)) {
+                    break;
+                }
+                long bit = Bitboards.bit(Bitboards.square(r, c));
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r = nextR;
+                c = nextC;
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Find a magic number for each square and fill one flat attack table shared by all squares.
+     * @return attack table, indexed by a square's offset plus its magic index
+     */
+    private static long[] initMagics(int[][] directions, long[] masks, long[] magics, int[] shifts, int[] offsets,
+                                     long[] seed) {
+        int tableSize = 0;
+        for (int square = 0; square < Bitboards.NUM_SQUARES; square++) {
+            masks[square] = slidingAttacks(square, directions, 0L, true);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[square]);
+        }
+
+        long[] table = new long[tableSize];
+        long[] occupancies = new long[4096];
+        long[] attacks = new long[4096];
+        int[] tryStamp = new int[4096]; // Marks which table slots were filled during the current magic attempt
+        long[] tried = new long[4096];
+        int attempt = 0;
+
+        for (int square = 0; square < Bitboards.NUM_SQUARES; square++) {
+            long mask = masks[square];
+            int size = 0;
+            long subset = 0L;
+            do { // Enumerate every subset of the mask
+                occupancies[size] = subset;
+                attacks[size] = slidingAttacks(square, directions, subset, false);
+                size++;
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+
+            boolean found = false;
+            while (!found) {
+                long magic = nextRandom(seed) & nextRandom(seed) & nextRandom(seed); // Sparse candidates work best
+                if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                    continue;
+                }
+                attempt++;
+                found = true;
+                for (int i = 0; i < size; i++) {
+                    int index = (int) ((occupancies[i] * magic) >>> shifts[square]);
+                    if (tryStamp[index] != attempt) {
+                        tryStamp[index] = attempt;
+                        tried[index] = attacks[i];
+                    } else if (tried[index] != attacks[i]) {
+                        found = false; // Two blocker sets with different attacks share an index
+                        break;
+                    }
+                }
+                if (found) {
+                    magics[square] = magic;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                int index = (int) ((occupancies[i] * magics[square]) >>> shifts[square]);
+                table[offsets[square] + index] = attacks[i];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * xorshift64* step used to generate magic candidates
+     */
+    private static long nextRandom(long[] seed) {
+        long x = seed[0];
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        seed[0] = x;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,119 @@
+package chess.bitboard;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Constants and helpers for working with 64-bit bitboards.
+ * <p>
+ *     Squares are numbered 0-63 starting at row 1, column 1 (a1) and moving left to right, bottom to top,
+ *     so that square h8 is 63. Bit n of a bitboard is set when square n is part of the set.
+ * </p>
+ * <p>
+ *     Pieces are identified by a small integer code: team ordinal * 6 + piece type ordinal. The code
+ *     doubles as the index into a board's array of piece bitboards.
+ * </p>
+ */
+public final class Bitboards {
+
+    private Bitboards() {}
+
+    public static final int NUM_SQUARES = 64;
+    public static final int NUM_PIECE_TYPES = 6;
+    public static final int NUM_PIECE_CODES = 12;
+    public static final int NO_PIECE = -1;
+    public static final int NO_SQUARE = -1;
+
+    public static final long EMPTY = 0L;
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+
+    // Cached enum values, since values() hands back a fresh array on every call
+    private static final ChessGame.TeamColor[] TEAMS = ChessGame.TeamColor.values();
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    /**
+     * Convert a 1-indexed row and column into a square index
+     * @param row row from 1 to 8
+     * @param column column from 1 to 8
+     * @return square index from 0 to 63
+     */
+    public static int square(int row, int column) {
+        return ((row - 1) << 3) | (column - 1);
+    }
+
+    /**
+     * @return 1-indexed row of the given square
+     */
+    public static int rowOf(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @return 1-indexed column of the given square
+     */
+    public static int columnOf(int square) {
+        return (square & 7) + 1;
+    }
+
+    /**
+     * @return bitboard with only the given square set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * @return true if the given square is set on the bitboard
+     */
+    public static boolean isSet(long bitboard, int square) {
+        return (bitboard & (1L << square)) != 0;
+    }
+
+    /**
+     * @return index of the lowest set square, or 64 if the bitboard is empty
+     */
+    public static int lowestSquare(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /**
+     * Get the code identifying a team's piece type
+     * @param team team color of piece
+     * @param type piece type
+     * @return piece code from 0 to 11
+     */
+    public static int pieceCode(ChessGame.TeamColor team, ChessPiece.PieceType type) {
+        return team.ordinal() * NUM_PIECE_TYPES + type.ordinal();
+    }
+
+    /**
+     * @return 0 for white pieces, 1 for black pieces
+     */
+    public static int teamIndexOf(int pieceCode) {
+        return pieceCode >= NUM_PIECE_TYPES ? 1 : 0;
+    }
+
+    /**
+     * @return piece type ordinal of the given piece code
+     */
+    public static int typeIndexOf(int pieceCode) {
+        return pieceCode % NUM_PIECE_TYPES;
+    }
+
+    /**
+     * @return team color of the given piece code
+     */
+    public static ChessGame.TeamColor teamOf(int pieceCode) {
+        return TEAMS[teamIndexOf(pieceCode)];
+    }
+
+    /**
+     * @return piece type of the given piece code
+     */
+    public static ChessPiece.PieceType typeOf(int pieceCode) {
+        return TYPES[typeIndexOf(pieceCode)];
+    }
+}
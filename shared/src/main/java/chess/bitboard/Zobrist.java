@@ -0,0 +1,80 @@
+package chess.bitboard;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the keys for each piece on its square
+ * plus keys for the side to move, castling rights and en passant column, so adding, removing or moving a
+ * piece updates the key with one or two XORs.
+ * <p>
+ *     Keys come from a fixed seed, so the same position hashes to the same key on every run and machine.
+ * </p>
+ */
+public final class Zobrist {
+
+    private Zobrist() {}
+
+    private static final long[][] PIECE_SQUARE_KEYS = new long[Bitboards.NUM_PIECE_CODES][Bitboards.NUM_SQUARES];
+    private static final long BLACK_TO_MOVE_KEY;
+    private static final long[] CASTLING_KEYS = new long[16]; // One per combination of the four castling rights
+    private static final long[] EN_PASSANT_KEYS = new long[8]; // One per column
+
+    static {
+        long[] seed = {0x9E3779B97F4A7C15L};
+        for (int pieceCode = 0; pieceCode < Bitboards.NUM_PIECE_CODES; pieceCode++) {
+            for (int square = 0; square < Bitboards.NUM_SQUARES; square++) {
+                PIECE_SQUARE_KEYS[pieceCode][square] = nextKey(seed);
+            }
+        }
+        BLACK_TO_MOVE_KEY = nextKey(seed);
+        long[] castlingRightKeys = {nextKey(seed), nextKey(seed), nextKey(seed), nextKey(seed)};
+        for (int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+            for (int i = 0; i < castlingRightKeys.length; i++) {
+                if ((rights & (1 << i)) != 0) {
+                    CASTLING_KEYS[rights] ^= castlingRightKeys[i];
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = nextKey(seed);
+        }
+    }
+
+    /**
+     * @return key for a piece standing on a square
+     */
+    public static long pieceKey(int pieceCode, int square) {
+        return PIECE_SQUARE_KEYS[pieceCode][square];
+    }
+
+    /**
+     * @return key folded in when black is to move
+     */
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * @param castlingIndex castling rights as a number from 0 to 15
+     * @return key for a set of castling rights, 0 when none are left
+     */
+    public static long castlingKey(int castlingIndex) {
+        return CASTLING_KEYS[castlingIndex];
+    }
+
+    /**
+     * @param file column index from 0 to 7
+     * @return key folded in when a pawn can be captured en passant on the column
+     */
+    public static long enPassantKey(int file) {
+        return EN_PASSANT_KEYS[file];
+    }
+
+    /**
+     * SplitMix64 step
+     */
+    private static long nextKey(long[] seed) {
+        long z = (seed[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,18 +1,12 @@
 package chess.checkendgame;
 
 import chess.*;
-import chess.moves.BishopMovesCalc;
-import chess.moves.KingMovesCalc;
-import chess.moves.KnightMovesCalc;
-import chess.moves.RookMovesCalc;
-
-import java.util.HashSet;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
 
 
 public class CheckCalculator {
 
-    //TODO: consolidate duplicate code
-
     /**
      * Check a given position's safety by evaluating if it is under attack by an opponent piece.
      * @param board current arrangement of chess pieces
@@ -26,105 +20,63 @@ public class CheckCalculator {
         ChessGame.TeamColor team = board.getPiece(position).getTeamColor();
         ChessGame.TeamColor opponent =
                 (team == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
-
-        return (inCheckDiagonally(board, position, opponent) || inCheckOrthogonally(board, position, opponent)) ||
-                inCheckByPawn(board, position, opponent) || inCheckByKnight(board, position, opponent) ||
-                inCheckByKing(board, position, opponent);
+        return isSquareAttacked(board, Bitboards.square(position.getRow(), position.getColumn()), opponent);
     }
 
     /**
-     * Check spaces diagonally from a king's spot for an enemy bishop or queen.
+     * Check if any piece of a team attacks a square.
      * <p>
-     *     Uses the bishop moves calculator to treat the king's position as a possible move for a diagonally-moving
-     *     enemy. Calculates the moves possible for an enemy bishop, treating the king's location as a destination.
-     *     Checks all end positions returned from the calculator for potential danger from an enemy bishop or queen.
+     *     Works in reverse from the square: a knight of the attacking team attacks the square exactly when a
+     *     knight placed on the square would attack it, and likewise for every other piece type. Each piece
+     *     type is a single lookup against the attacker's bitboard, so nothing is allocated.
      * @param board current arrangement of chess pieces
-     * @param position position to check safety for
-     * @param opponent team color of opponent
-     * @return true if an enemy bishop or queen is found in a diagonal position from the king.
-     */
-    private boolean inCheckDiagonally(ChessBoard board, ChessPosition position, ChessGame.TeamColor opponent) {
-        BishopMovesCalc bishopCalc = new BishopMovesCalc();
-        ChessPiece enemyBishop = new ChessPiece(opponent, ChessPiece.PieceType.BISHOP);
-        ChessPiece enemyQueen = new ChessPiece(opponent, ChessPiece.PieceType.QUEEN);
-
-        for (ChessMove move : bishopCalc.getBishopMoves(board, position)) {
-            ChessPiece possibleEnemy = board.getPiece(move.getEndPosition());
-            if (possibleEnemy != null && (possibleEnemy.equals(enemyBishop) || possibleEnemy.equals(enemyQueen)))
-                return true;
-        }
-        return false;
-    }
-
-    /**
-     * Check spaces horizontally and vertically from a king's spot for an enemy rook or queen.
-     * <p>
-     *     Uses the rook moves calculator to treat the king's position as a possible move for an enemy.
-     *     Calculates the moves possible for an enemy rook, treating the king's location as a destination.
-     *     Checks all end positions returned from the calculator for potential danger from an enemy rook or queen.
-     * @param board current arrangement of chess pieces.
-     * @param position position to check safety for
-     * @param opponent team color of opponent
-     * @return true if an enemy rook or queen is found horizontally or vertically from the king.
+     * @param square square index to check
+     * @param byColor attacking team
+     * @return true if at least one piece of the attacking team could capture on the square
      */
-    private boolean inCheckOrthogonally(ChessBoard board, ChessPosition position, ChessGame.TeamColor opponent) {
-        RookMovesCalc rookCalc = new RookMovesCalc();
-        ChessPiece enemyRook = new ChessPiece(opponent, ChessPiece.PieceType.ROOK);
-        ChessPiece enemyQueen = new ChessPiece(opponent, ChessPiece.PieceType.QUEEN);
-
-        for (ChessMove move : rookCalc.getRookMoves(board, position)) {
-            ChessPiece possibleEnemy = board.getPiece(move.getEndPosition());
-            if (possibleEnemy != null && (possibleEnemy.equals(enemyRook) || possibleEnemy.equals(enemyQueen)))
-                return true;
-        }
-        return false;
+    public static boolean isSquareAttacked(ChessBoard board, int square, ChessGame.TeamColor byColor) {
+        long occupied = board.getOccupied();
+        long queens = board.getPieces(byColor, ChessPiece.PieceType.QUEEN);
+        return (AttackTables.pawnAttacks(1 - byColor.ordinal(), square) &
+                        board.getPieces(byColor, ChessPiece.PieceType.PAWN)) != 0 ||
+                (AttackTables.knightAttacks(square) & board.getPieces(byColor, ChessPiece.PieceType.KNIGHT)) != 0 ||
+                (AttackTables.kingAttacks(square) & board.getPieces(byColor, ChessPiece.PieceType.KING)) != 0 ||
+                (AttackTables.bishopAttacks(square, occupied) &
+                        (board.getPieces(byColor, ChessPiece.PieceType.BISHOP) | queens)) != 0 ||
+                (AttackTables.rookAttacks(square, occupied) &
+                        (board.getPieces(byColor, ChessPiece.PieceType.ROOK) | queens)) != 0;
     }
 
     /**
-     * Evaluate danger to king from a pawn.
-     * @param board current arrangement of pieces
-     * @param position position of king
-     * @param opponent team color of opponent
-     * @return true if a pawn is in a position to capture the king
+     * Find every piece of a team that attacks a square.
+     * @param board current arrangement of chess pieces
+     * @param square square index to check
+     * @param byColor attacking team
+     * @return bitboard of the attacking pieces
      */
-    private boolean inCheckByPawn(ChessBoard board, ChessPosition position, ChessGame.TeamColor opponent) {
-        ChessPiece enemyPawn = new ChessPiece(opponent, ChessPiece.PieceType.PAWN);
-
-        int checkRow = (opponent == ChessGame.TeamColor.WHITE) ? position.getRow() - 1 : position.getRow() + 1;
-        ChessPosition checkPawnLeft = new ChessPosition(checkRow, position.getColumn() - 1);
-        ChessPosition checkPawnRight = new ChessPosition(checkRow, position.getColumn() + 1);
-        return (board.hasPieceAtPos(checkPawnLeft) && board.getPiece(checkPawnLeft).equals(enemyPawn) ||
-                board.hasPieceAtPos(checkPawnRight) && board.getPiece(checkPawnRight).equals(enemyPawn));
+    public static long attackersTo(ChessBoard board, int square, ChessGame.TeamColor byColor) {
+        return attackersTo(board, square, byColor, board.getOccupied());
     }
 
     /**
-     * Check if an enemy knight can move and land on the given position.
-     * @param board current arrangement of pieces
-     * @param position position to check safety for
-     * @param opponent team color of opponent
-     * @return true if an opponent knight can move into the position
+     * Find every piece of a team that attacks a square, with sliding pieces blocked by the given occupancy
+     * instead of the board's. Useful for asking what would attack a square once pieces have moved away.
+     * @param board current arrangement of chess pieces
+     * @param square square index to check
+     * @param byColor attacking team
+     * @param occupied squares that block sliding pieces
+     * @return bitboard of the attacking pieces
      */
-    private boolean inCheckByKnight(ChessBoard board, ChessPosition position, ChessGame.TeamColor opponent) {
-        ChessPiece enemyKnight = new ChessPiece(opponent, ChessPiece.PieceType.KNIGHT);
-        KnightMovesCalc knightCalc = new KnightMovesCalc();
-
-        for (ChessMove move : knightCalc.getKnightMoves(board, position)) {
-            ChessPiece possibleEnemy = board.getPiece(move.getEndPosition());
-            if (possibleEnemy != null && possibleEnemy.equals(enemyKnight))
-                return true;
-        }
-        return false;
-    }
-
-    private boolean inCheckByKing(ChessBoard board, ChessPosition position, ChessGame.TeamColor opponent) {
-        ChessPiece enemyKing = new ChessPiece(opponent, ChessPiece.PieceType.KING);
-        KingMovesCalc kingCalc = new KingMovesCalc();
-
-        for (ChessMove move : kingCalc.getKingMoves(board, position)) {
-            ChessPiece possibleEnemy = board.getPiece(move.getEndPosition());
-            if (possibleEnemy != null && possibleEnemy.equals(enemyKing))
-                return true;
-        }
-        return false;
+    public static long attackersTo(ChessBoard board, int square, ChessGame.TeamColor byColor, long occupied) {
+        long queens = board.getPieces(byColor, ChessPiece.PieceType.QUEEN);
+        // A pawn attacks the square if a defending pawn on the square would attack the pawn
+        return (AttackTables.pawnAttacks(1 - byColor.ordinal(), square) &
+                        board.getPieces(byColor, ChessPiece.PieceType.PAWN)) |
+                (AttackTables.knightAttacks(square) & board.getPieces(byColor, ChessPiece.PieceType.KNIGHT)) |
+                (AttackTables.kingAttacks(square) & board.getPieces(byColor, ChessPiece.PieceType.KING)) |
+                (AttackTables.bishopAttacks(square, occupied) &
+                        (board.getPieces(byColor, ChessPiece.PieceType.BISHOP) | queens)) |
+                (AttackTables.rookAttacks(square, occupied) &
+                        (board.getPieces(byColor, ChessPiece.PieceType.ROOK) | queens));
     }
 }
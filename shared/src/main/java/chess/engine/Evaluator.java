@@ -0,0 +1,83 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.bitboard.Bitboards;
+import chess.bitboard.PieceSquareTables;
+
+/**
+ * Scores positions for the search, in centipawns from the point of view of the team to move.
+ * <p>
+ *     Each piece is worth its material plus a bonus for the square it stands on, with one set of values for
+ *     the middlegame and one for the endgame. The board keeps both totals and the game phase up to date as
+ *     pieces are added and removed, so scoring a position is a blend of two numbers rather than a scan of
+ *     the board. The blend slides from the middlegame score towards the endgame score as pieces come off.
+ * </p>
+ */
+public final class Evaluator {
+
+    private Evaluator() {}
+
+    // Centipawn value of each piece type, indexed by piece type ordinal. The king is never traded.
+    private static final int[] PIECE_VALUES = {0, 900, 330, 320, 500, 100};
+
+    /**
+     * @return centipawn value of a piece type, used to weigh captures against each other
+     */
+    public static int pieceValue(ChessPiece.PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    /**
+     * @return centipawn value of a piece type, by piece type ordinal
+     */
+    public static int pieceValue(int typeIndex) {
+        return PIECE_VALUES[typeIndex];
+    }
+
+    /**
+     * Score a position from the totals the board keeps
+     * @param board current arrangement of chess pieces
+     * @param sideToMove team the score is for
+     * @return centipawn score, positive when the team to move is ahead
+     */
+    public static int evaluate(ChessBoard board, ChessGame.TeamColor sideToMove) {
+        int score = taper(board.getMiddlegameScore(), board.getEndgameScore(), board.getPhase());
+        return (sideToMove == ChessGame.TeamColor.WHITE) ? score : -score;
+    }
+
+    /**
+     * Score a position by adding up every piece on the board. Slow, and only meant for checking that the
+     * board's running totals haven't drifted.
+     * @param board current arrangement of chess pieces
+     * @param sideToMove team the score is for
+     * @return centipawn score, equal to evaluate when the board is consistent
+     */
+    public static int evaluateFromScratch(ChessBoard board, ChessGame.TeamColor sideToMove) {
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (int pieceCode = 0; pieceCode < Bitboards.NUM_PIECE_CODES; pieceCode++) {
+            long pieces = board.getPieces(Bitboards.teamOf(pieceCode), Bitboards.typeOf(pieceCode));
+            while (pieces != 0) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                middlegame += PieceSquareTables.middlegame(pieceCode, square);
+                endgame += PieceSquareTables.endgame(pieceCode, square);
+                phase += PieceSquareTables.phaseWeight(pieceCode);
+            }
+        }
+        int score = taper(middlegame, endgame, phase);
+        return (sideToMove == ChessGame.TeamColor.WHITE) ? score : -score;
+    }
+
+    /**
+     * Blend middlegame and endgame scores by the game phase. Promotions can push the phase past its starting
+     * value, so it is capped there.
+     */
+    private static int taper(int middlegame, int endgame, int phase) {
+        int weight = Math.min(phase, PieceSquareTables.MAX_PHASE);
+        return (middlegame * weight + endgame * (PieceSquareTables.MAX_PHASE - weight)) / PieceSquareTables.MAX_PHASE;
+    }
+}
@@ -0,0 +1,249 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.bitboard.Bitboards;
+import chess.moves.Move;
+import chess.moves.MoveList;
+
+/**
+ * Hands out a node's moves one at a time, most promising first, doing only as much ordering as the search
+ * ends up needing.
+ * <p>
+ *     Moves come in stages: the hash move, then captures and promotions by MVV-LVA (most valuable victim,
+ *     least valuable attacker), then the killer moves, then the remaining quiet moves by their history score,
+ *     and last the captures that static exchange evaluation says lose material.
+ *     Within a stage the best move left is picked by a single scan each time, so after a cutoff the moves
+ *     further down are never sorted. Scores for a stage are only worked out when the stage is reached.
+ * </p>
+ * <p>
+ *     The picker reorders the move list it is given in place. One picker is kept per ply and reused.
+ *     Quiescence search uses it in captures-only mode, which stops after the capture stage.
+ * </p>
+ */
+public class MovePicker {
+
+    private static final int STAGE_HASH_MOVE = 0;
+    private static final int STAGE_CAPTURES_INIT = 1;
+    private static final int STAGE_CAPTURES = 2;
+    private static final int STAGE_KILLERS = 3;
+    private static final int STAGE_QUIETS_INIT = 4;
+    private static final int STAGE_QUIETS = 5;
+    private static final int STAGE_BAD_CAPTURES = 6;
+    private static final int STAGE_DONE = 7;
+
+    private static final int PAWN_INDEX = 5; // Piece type ordinal of a pawn
+
+    private final int[] scores = new int[MoveList.DEFAULT_CAPACITY];
+    private MoveList moves;
+    private ChessBoard board;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int[] history;
+    private int stage;
+    private int next;       // First move not handed out yet
+    private int stageEnd;   // End of the moves belonging to the current stage
+    private int killersTried;
+    private boolean capturesOnly;
+    private final int[] badCaptures = new int[MoveList.DEFAULT_CAPACITY]; // Captures that lose material by SEE
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGE]; // Scratch space for SEE
+    private int badCaptureCount;
+    private int badCaptureNext;
+
+    /**
+     * Start handing out the moves of a new node
+     * @param moves legal moves of the node, reordered as they are picked
+     * @param board board the moves are played on
+     * @param hashMove move to try first, or Move.NONE
+     * @param killer1 quiet move that caused a cutoff at this ply most recently, or Move.NONE
+     * @param killer2 quiet move that caused a cutoff at this ply before that, or Move.NONE
+     * @param history butterfly history scores of the team to move, indexed by from * 64 + to
+     */
+    public void reset(MoveList moves, ChessBoard board, int hashMove, int killer1, int killer2, int[] history) {
+        this.moves = moves;
+        this.board = board;
+        this.hashMove = hashMove;
+        this.killer1 = killer1;
+        this.killer2 = killer2;
+        this.history = history;
+        stage = STAGE_HASH_MOVE;
+        next = 0;
+        killersTried = 0;
+        capturesOnly = false;
+        badCaptureCount = 0;
+        badCaptureNext = 0;
+    }
+
+    /**
+     * Start handing out only the captures and promotions of a new node, best MVV-LVA score first
+     * @param moves legal moves of the node, or just its captures and promotions, reordered as they are picked
+     * @param board board the moves are played on
+     */
+    public void resetCaptures(MoveList moves, ChessBoard board) {
+        reset(moves, board, Move.NONE, Move.NONE, Move.NONE, null);
+        capturesOnly = true;
+    }
+
+    /**
+     * @return next move to search, or Move.NONE once every move has been handed out
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_HASH_MOVE -> {
+                    stage = STAGE_CAPTURES_INIT;
+                    if (hashMove != Move.NONE && takeIfPresent(hashMove)) {
+                        return hashMove;
+                    }
+                }
+                case STAGE_CAPTURES_INIT -> {
+                    stageEnd = partitionTactical();
+                    for (int i = next; i < stageEnd; i++) {
+                        scores[i] = mvvLva(moves.get(i));
+                    }
+                    stage = STAGE_CAPTURES;
+                }
+                case STAGE_CAPTURES -> {
+                    if (next < stageEnd) {
+                        int move = pickBest();
+                        if (!capturesOnly && losesMaterial(move)) {
+                            badCaptures[badCaptureCount++] = move; // Tried after the quiet moves instead
+                            continue;
+                        }
+                        return move;
+                    }
+                    stage = capturesOnly ? STAGE_DONE : STAGE_KILLERS;
+                }
+                case STAGE_KILLERS -> {
+                    int killer = (killersTried++ == 0) ? killer1 : killer2;
+                    if (killersTried >= 2) {
+                        stage = STAGE_QUIETS_INIT;
+                    }
+                    if (killer != Move.NONE && killer != hashMove && takeIfPresent(killer)) {
+                        return killer;
+                    }
+                }
+                case STAGE_QUIETS_INIT -> {
+                    stageEnd = moves.size();
+                    for (int i = next; i < stageEnd; i++) {
+                        int move = moves.get(i);
+                        scores[i] = history[Move.from(move) * Bitboards.NUM_SQUARES + Move.to(move)];
+                    }
+                    stage = STAGE_QUIETS;
+                }
+                case STAGE_QUIETS -> {
+                    if (next < stageEnd) {
+                        return pickBest();
+                    }
+                    stage = STAGE_BAD_CAPTURES;
+                }
+                case STAGE_BAD_CAPTURES -> {
+                    if (badCaptureNext < badCaptureCount) {
+                        return badCaptures[badCaptureNext++];
+                    }
+                    stage = STAGE_DONE;
+                }
+                default -> {
+                    return Move.NONE;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the move handed out last came from the quiet move or losing capture stages, the moves
+     * least likely to matter
+     */
+    public boolean lastMoveOrderedLate() {
+        return stage >= STAGE_QUIETS && stage <= STAGE_BAD_CAPTURES;
+    }
+
+    /**
+     * @return true if a move is a capture or a promotion, the moves tried in the capture stage
+     */
+    public static boolean isTactical(int move) {
+        return Move.isCapture(move) || Move.isPromotion(move);
+    }
+
+    /**
+     * Score a capture or promotion: victims are worth far more than attackers cost, so any capture of a queen
+     * comes before any capture of a rook, and the cheapest attacker goes first among equal victims
+     */
+    private int mvvLva(int move) {
+        int score = 0;
+        if (Move.isCapture(move)) {
+            int victim = Move.hasFlag(move, Move.FLAG_EN_PASSANT) ? PAWN_INDEX :
+                    Bitboards.typeIndexOf(board.getPieceCode(Move.to(move)));
+            int attacker = Bitboards.typeIndexOf(board.getPieceCode(Move.from(move)));
+            score += 16 * Evaluator.pieceValue(victim) - Evaluator.pieceValue(attacker);
+        }
+        if (Move.isPromotion(move)) {
+            score += Evaluator.pieceValue(Move.promotionIndex(move));
+        }
+        return score;
+    }
+
+    /**
+     * @return true if a capture of a cheaper piece loses material once the recaptures are played out
+     */
+    private boolean losesMaterial(int move) {
+        if (!Move.isCapture(move) || Move.isPromotion(move) || Move.hasFlag(move, Move.FLAG_EN_PASSANT)) {
+            return false;
+        }
+        int victim = Bitboards.typeIndexOf(board.getPieceCode(Move.to(move)));
+        int attacker = Bitboards.typeIndexOf(board.getPieceCode(Move.from(move)));
+        if (Evaluator.pieceValue(victim) >= Evaluator.pieceValue(attacker)) {
+            return false; // Can't lose material, whatever the recaptures
+        }
+        return StaticExchange.evaluate(board, move, exchangeGains) < 0;
+    }
+
+    /**
+     * Move the captures and promotions not handed out yet to the front of the remaining moves
+     * @return end of the tactical moves
+     */
+    private int partitionTactical() {
+        int end = next;
+        for (int i = next; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (isTactical(move)) {
+                moves.set(i, moves.get(end));
+                moves.set(end++, move);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Hand out the best scoring move between next and the end of the stage
+     */
+    private int pickBest() {
+        int best = next;
+        for (int i = next + 1; i < stageEnd; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        moves.set(best, moves.get(next));
+        scores[best] = scores[next];
+        moves.set(next, move);
+        next++;
+        return move;
+    }
+
+    /**
+     * Hand out a particular move if it is still waiting, and make sure it isn't handed out again later
+     * @return true if the move was found
+     */
+    private boolean takeIfPresent(int move) {
+        for (int i = next; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                moves.set(i, moves.get(next));
+                moves.set(next++, move);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,191 @@
+package chess.engine;
+
+import chess.ChessGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches one position on several threads at once, sharing a single transposition table (Lazy SMP).
+ * <p>
+ *     The calling thread runs the main search and reports its result. Helper searches run the same root
+ *     position alongside it with nothing shared but the table. Every other helper starts one ply deeper,
+ *     so the threads spread out over different depths and fill the table with results the others can use.
+ *     Helpers stop as soon as the main search finishes.
+ * </p>
+ * <p>
+ *     Helpers come from one fixed pool shared by every parallel search in the process, sized to leave a
+ *     core for each caller's own thread. When many analyses run at once their helpers queue up instead of
+ *     oversubscribing the machine, and helpers still queued when their search ends never start.
+ * </p>
+ */
+public class ParallelSearch {
+
+    public static final int MAX_THREADS = 256;
+
+    private static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final ExecutorService HELPER_POOL = Executors.newFixedThreadPool(POOL_SIZE, new HelperFactory());
+
+    private final TranspositionTable table;
+    private final int threads;
+    private final Search mainSearch;
+    private final Search[] helpers;
+
+    /**
+     * @param table transposition table every thread shares
+     * @param threads total number of search threads, including the calling thread
+     */
+    public ParallelSearch(TranspositionTable table, int threads) {
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("Thread count must be between 1 and " + MAX_THREADS);
+        }
+        this.table = table;
+        this.threads = threads;
+        mainSearch = new Search(table);
+        helpers = new Search[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Search(table);
+        }
+    }
+
+    /**
+     * Search a position for the best move on every thread. The given game is not changed.
+     * @param rootGame game to choose a move in
+     * @param limits when to stop, applied to the main search
+     * @return main search's result, with the nodes of every thread added together
+     */
+    public SearchResult search(ChessGame rootGame, SearchLimits limits) {
+        table.newSearch();
+        mainSearch.clearStop();
+        SearchLimits helperLimits = SearchLimits.depth(limits.maxDepth()); // Helpers run until the main search ends
+        List<Future<?>> running = new ArrayList<>(helpers.length);
+        for (int i = 0; i < helpers.length; i++) {
+            Search helper = helpers[i];
+            helper.clearStop();
+            int firstDepth = 1 + (i + 1) % 2;
+            running.add(HELPER_POOL.submit(() -> helper.iterate(rootGame, helperLimits, firstDepth)));
+        }
+
+        SearchResult result = mainSearch.iterate(rootGame, limits, 1);
+
+        for (Search helper : helpers) {
+            helper.stop();
+        }
+        long nodes = mainSearch.getNodes();
+        for (int i = 0; i < running.size(); i++) {
+            if (running.get(i).cancel(false)) {
+                continue; // Never started, so it has no nodes to count
+            }
+            awaitHelper(running.get(i));
+            nodes += helpers[i].getNodes();
+        }
+        return new SearchResult(result.bestMove(), result.score(), result.depth(), result.principalVariation(),
+                nodes, result.elapsedNanos());
+    }
+
+    /**
+     * Ask a running search to stop as soon as possible. Safe to call from any thread.
+     */
+    public void stop() {
+        mainSearch.stop();
+        for (Search helper : helpers) {
+            helper.stop();
+        }
+    }
+
+    /**
+     * Choose which selective pruning every thread uses in later searches
+     */
+    public void setPruning(PruningOptions pruning) {
+        mainSearch.setPruning(pruning);
+        for (Search helper : helpers) {
+            helper.setPruning(pruning);
+        }
+    }
+
+    /**
+     * Play later searches on a clock. Only the main search consults the time manager, and the helpers stop
+     * when it does.
+     * @param timeManager budget for the next move, or null to stop on the search limits alone
+     */
+    public void setTimeManager(TimeManager timeManager) {
+        mainSearch.setTimeManager(timeManager);
+    }
+
+    /**
+     * Choose who is told about each iteration the main search finishes. The nodes reported include what
+     * the helpers have visited so far.
+     * @param listener listener to tell, or null for nobody
+     */
+    public void setIterationListener(Search.IterationListener listener) {
+        if (listener == null) {
+            mainSearch.setIterationListener(null);
+            return;
+        }
+        mainSearch.setIterationListener(result -> {
+            long nodes = result.nodes();
+            for (Search helper : helpers) {
+                nodes += helper.getNodes(); // Read while the helper runs, so only approximate
+            }
+            listener.iterationFinished(new SearchResult(result.bestMove(), result.score(), result.depth(),
+                    result.principalVariation(), nodes, result.elapsedNanos()));
+        });
+    }
+
+    /**
+     * @return total number of search threads, including the calling thread
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return transposition table the threads share
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * @return number of helper threads shared by every parallel search
+     */
+    public static int helperPoolSize() {
+        return POOL_SIZE;
+    }
+
+    /**
+     * Wait for a stopped helper to hand back its thread
+     */
+    private static void awaitHelper(Future<?> helper) {
+        try {
+            helper.get();
+        } catch (CancellationException ignored) {
+            // Cancelled after all, so there is nothing to wait for
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Helper search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Names helper threads and marks them as daemons, so an idle pool never keeps the program running
+     */
+    private static class HelperFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "search-helper-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package chess.engine;
+
+/**
+ * Which selective pruning the search may use. Each one trades a small risk of missing something for a
+ * much smaller tree, so each can be switched off on its own to measure what it is worth.
+ *
+ * @param nullMove skip a node when passing the turn still leaves the team to move above beta
+ * @param lateMoveReductions search moves ordered late at reduced depth, and only re-search the ones that
+ *                           turn out better than expected
+ * @param futility skip quiet moves near the leaves that can't lift a hopeless static score to alpha
+ * @param reverseFutility cut near the leaves when the static score is so far above beta that a quiet move
+ *                        won't bring it back down
+ */
+public record PruningOptions(boolean nullMove, boolean lateMoveReductions, boolean futility,
+                             boolean reverseFutility) {
+
+    public static final PruningOptions ALL = new PruningOptions(true, true, true, true);
+    public static final PruningOptions NONE = new PruningOptions(false, false, false, false);
+
+    /**
+     * @return options with null-move pruning switched on or off
+     */
+    public PruningOptions withNullMove(boolean enabled) {
+        return new PruningOptions(enabled, lateMoveReductions, futility, reverseFutility);
+    }
+
+    /**
+     * @return options with late-move reductions switched on or off
+     */
+    public PruningOptions withLateMoveReductions(boolean enabled) {
+        return new PruningOptions(nullMove, enabled, futility, reverseFutility);
+    }
+
+    /**
+     * @return options with futility pruning switched on or off
+     */
+    public PruningOptions withFutility(boolean enabled) {
+        return new PruningOptions(nullMove, lateMoveReductions, enabled, reverseFutility);
+    }
+
+    /**
+     * @return options with reverse futility pruning switched on or off
+     */
+    public PruningOptions withReverseFutility(boolean enabled) {
+        return new PruningOptions(nullMove, lateMoveReductions, futility, enabled);
+    }
+}
@@ -0,0 +1,623 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.bitboard.Bitboards;
+import chess.moves.Move;
+import chess.moves.MoveList;
+
+import java.util.Arrays;
+
+/**
+ * Chooses a move by searching the game tree with negamax alpha-beta and iterative deepening.
+ * <p>
+ *     The search works on its own copy of the game and walks the tree with makeMove and unmakeMove, so no
+ *     boards are copied once it starts. Each iteration searches one ply deeper than the last and tries the
+ *     previous iteration's best line first, which makes the deeper search cut off sooner. Other moves are
+ *     handed out by a {@link MovePicker}, using the killer moves and history scores this search collects.
+ *     Where the main search runs out of depth, a quiescence search plays out the captures left on the board.
+ * </p>
+ * <p>
+ *     Only the first move at each node is searched with the full window. The rest are searched with a null
+ *     window (principal variation search), and the root window is narrowed around the last iteration's
+ *     score (aspiration windows). Either guess being wrong costs a re-search, counted in the statistics.
+ * </p>
+ * <p>
+ *     Results are kept in a {@link TranspositionTable}, so positions reached again by a different move order
+ *     are answered without searching them twice, and the best move stored for a position is tried first.
+ *     Searches that share a table share what they learn.
+ * </p>
+ * <p>
+ *     A search can be cancelled from another thread with {@link #stop()}. It also stops itself when it runs
+ *     past its time or node limit, or when its {@link TimeManager} says the move has had enough time. Limits
+ *     are only checked every few thousand nodes. Either way it returns the result of the deepest iteration
+ *     that finished.
+ * </p>
+ */
+public class Search {
+
+    /**
+     * Told about each iteration of iterative deepening as it finishes, for example to report progress
+     */
+    @FunctionalInterface
+    public interface IterationListener {
+        /**
+         * Called on the searching thread, so it should return quickly
+         * @param result best move, score and principal variation of the iteration that just finished
+         */
+        void iterationFinished(SearchResult result);
+    }
+
+    public static final int MATE = 30000;
+    public static final int INFINITY = 32000;
+    public static final int MAX_PLY = 128;
+
+    private static final int CHECK_INTERVAL = 2048; // Nodes between looks at the clock. Must be a power of two.
+    public static final int DEFAULT_ASPIRATION_WINDOW = 25; // Centipawns either side of the last score
+    private static final int ASPIRATION_MIN_DEPTH = 4; // Shallower scores swing too much to be worth a window
+    private static final int DELTA_MARGIN = 200; // Positional swing a capture might bring beyond the material
+
+    // Selective pruning settings. Margins are in centipawns per ply of depth left.
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int NULL_MOVE_VERIFY_PHASE = 6; // At or below this phase zugzwang is likely enough to check
+    private static final int REVERSE_FUTILITY_DEPTH = 3;
+    private static final int REVERSE_FUTILITY_MARGIN = 120;
+    private static final int FUTILITY_DEPTH = 2;
+    private static final int FUTILITY_MARGIN = 150;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVES = 3; // Moves searched at full depth before reductions start
+    private static final int[][] LMR_REDUCTIONS = new int[64][64]; // By depth and moves searched
+
+    static {
+        for (int depth = 1; depth < 64; depth++) {
+            for (int moves = 1; moves < 64; moves++) {
+                LMR_REDUCTIONS[depth][moves] = Math.max(1, (int) (0.5 + Math.log(depth) * Math.log(moves) / 2.0));
+            }
+        }
+    }
+    private static final int HISTORY_LIMIT = 1 << 20; // History scores are halved once one grows past this
+
+    private final MoveList[] movesByPly = new MoveList[MAX_PLY];
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY];
+    private final int[][] killers = new int[MAX_PLY][2]; // Last two quiet moves that caused a cutoff at each ply
+    private final int[][] history = new int[2][Bitboards.NUM_SQUARES * Bitboards.NUM_SQUARES]; // By team, from, to
+    private final SearchStatistics statistics = new SearchStatistics();
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY]; // Best line found below each ply
+    private final int[] pvLength = new int[MAX_PLY];
+    private final int[] line = new int[MAX_PLY]; // Moves made from the root to reach the current node
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGE]; // Scratch space for SEE
+    private final TranspositionTable table;
+    private PruningOptions pruning = PruningOptions.ALL;
+    private int aspirationWindow = DEFAULT_ASPIRATION_WINDOW;
+    private IterationListener listener;
+    private TimeManager timeManager;
+
+    private volatile boolean stopped;
+    private ChessGame game;
+    private long nodes;
+    private long maxNodes;
+    private long deadline;
+    private int[] previousPv = new int[0];
+
+    public Search() {
+        this(new TranspositionTable());
+    }
+
+    /**
+     * @param table transposition table to read and write, which may be shared with other searches
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            movesByPly[ply] = new MoveList();
+            pickers[ply] = new MovePicker();
+        }
+    }
+
+    /**
+     * Search a position for the best move. The given game is not changed.
+     * @param rootGame game to choose a move in
+     * @param limits when to stop
+     * @return best move, score and principal variation of the deepest finished iteration
+     */
+    public SearchResult search(ChessGame rootGame, SearchLimits limits) {
+        stopped = false;
+        table.newSearch();
+        return iterate(rootGame, limits, 1);
+    }
+
+    /**
+     * Iterative deepening without starting a new table generation, so several searches can share one.
+     * A stop requested before this starts is kept, so the caller clears it first.
+     * @param rootGame game to choose a move in
+     * @param limits when to stop
+     * @param firstDepth depth of the first iteration
+     * @return best move, score and principal variation of the deepest finished iteration
+     */
+    SearchResult iterate(ChessGame rootGame, SearchLimits limits, int firstDepth) {
+        long start = System.nanoTime();
+        game = rootGame.copy();
+        nodes = 0;
+        maxNodes = limits.maxNodes();
+        deadline = limits.deadlineNanos(start);
+        previousPv = new int[0];
+        statistics.reset();
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, Move.NONE);
+        }
+        for (int[] teamHistory : history) {
+            Arrays.fill(teamHistory, 0);
+        }
+
+        MoveList rootMoves = game.legalMoves(new MoveList());
+        SearchResult result = new SearchResult(rootMoves.isEmpty() ? Move.NONE : rootMoves.get(0),
+                0, 0, new int[0], 0, 0);
+
+        for (int depth = Math.min(firstDepth, limits.maxDepth()); depth <= limits.maxDepth(); depth++) {
+            int score = aspirationSearch(depth, result.score());
+            if (stopped && depth > firstDepth) {
+                break; // An unfinished iteration can't be trusted, so keep the last complete one
+            }
+            previousPv = Arrays.copyOf(pvTable[0], pvLength[0]);
+            int bestMove = (previousPv.length > 0) ? previousPv[0] : result.bestMove();
+            result = new SearchResult(bestMove, score, depth, previousPv, nodes, System.nanoTime() - start);
+            if (listener != null) {
+                listener.iterationFinished(result);
+            }
+            if (timeManager != null) {
+                timeManager.recordIteration(result);
+                if (timeManager.shouldStop()) {
+                    break; // Another iteration wouldn't finish in the time this move is worth
+                }
+            }
+            if (stopped || rootMoves.size() <= 1 || Math.abs(score) >= MATE - depth) {
+                break; // Nothing left to decide, or a forced mate that a deeper search can't improve
+            }
+        }
+        return new SearchResult(result.bestMove(), result.score(), result.depth(), result.principalVariation(),
+                nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Search the root inside a narrow window around the previous iteration's score, since the score rarely
+     * moves far from one depth to the next and a narrow window cuts off more. A score outside the window is
+     * only a bound, so the window is widened on that side and the root searched again.
+     * @param depth depth of this iteration
+     * @param previousScore score of the previous iteration
+     * @return exact score of the root
+     */
+    private int aspirationSearch(int depth, int previousScore) {
+        if (aspirationWindow <= 0 || depth < ASPIRATION_MIN_DEPTH || Math.abs(previousScore) >= MATE - MAX_PLY) {
+            return negamax(depth, 0, -INFINITY, INFINITY, true);
+        }
+        int delta = aspirationWindow;
+        int alpha = Math.max(previousScore - delta, -INFINITY);
+        int beta = Math.min(previousScore + delta, INFINITY);
+        statistics.recordAspirationSearch();
+        while (true) {
+            int score = negamax(depth, 0, alpha, beta, true);
+            if (stopped) {
+                return score;
+            }
+            delta *= 2;
+            if (score <= alpha) {
+                statistics.recordAspirationFailLow();
+                alpha = Math.max(score - delta, -INFINITY);
+            } else if (score >= beta) {
+                statistics.recordAspirationFailHigh();
+                beta = Math.min(score + delta, INFINITY);
+            } else {
+                return score;
+            }
+        }
+    }
+
+    /**
+     * Ask a running search to stop as soon as possible. Safe to call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Forget an earlier stop request before a search that is started with iterate
+     */
+    void clearStop() {
+        stopped = false;
+    }
+
+    /**
+     * @return positions visited so far by the current or last search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Choose which selective pruning later searches use. All of it is on by default.
+     */
+    public void setPruning(PruningOptions pruning) {
+        this.pruning = pruning;
+    }
+
+    /**
+     * Set the starting half width of the root search window, in centipawns. Each time the score falls
+     * outside the window its width doubles on that side.
+     * @param aspirationWindow half width, or 0 to always search the root with a full window
+     */
+    public void setAspirationWindow(int aspirationWindow) {
+        this.aspirationWindow = aspirationWindow;
+    }
+
+    /**
+     * Choose who is told about each finished iteration of later searches
+     * @param listener listener to tell, or null for nobody
+     */
+    public void setIterationListener(IterationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Play later searches on a clock. The time manager decides when to stop on top of the search limits.
+     * @param timeManager budget for the next move, or null to stop on the search limits alone
+     */
+    public void setTimeManager(TimeManager timeManager) {
+        this.timeManager = timeManager;
+    }
+
+    /**
+     * @return selective pruning this search uses
+     */
+    public PruningOptions getPruning() {
+        return pruning;
+    }
+
+    /**
+     * @return move ordering counters of the current or last search
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return transposition table this search uses
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Negamax alpha-beta: the score of a position for the team to move is the best of the negated scores of
+     * the positions its moves lead to
+     * @param depth plies left to search
+     * @param ply plies from the root
+     * @param alpha score the team to move is already guaranteed
+     * @param beta score the opponent is already guaranteed, above which this line won't be allowed
+     * @param allowNullMove false right after a null move, so two passes in a row can't cancel out
+     * @return score of the position for the team to move
+     */
+    private int negamax(int depth, int ply, int alpha, int beta, boolean allowNullMove) {
+        pvLength[ply] = 0;
+        if (ply > 0 && game.isRepetitionOrFiftyMove()) {
+            return 0;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, alpha, beta);
+        }
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        long key = game.getZobristKey();
+        long entry = table.probe(key);
+        statistics.recordTableProbe(entry != TranspositionTable.MISS);
+        int tableMove = TranspositionTable.move(entry);
+        boolean pvNode = beta - alpha > 1;
+        if (entry != TranspositionTable.MISS && !pvNode && TranspositionTable.depth(entry) >= depth) {
+            int tableScore = scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.BOUND_EXACT ||
+                    (bound == TranspositionTable.BOUND_LOWER && tableScore >= beta) ||
+                    (bound == TranspositionTable.BOUND_UPPER && tableScore <= alpha)) {
+                return tableScore; // Already searched deeply enough to settle this node, and it isn't on the PV
+            }
+        }
+
+        ChessGame.TeamColor team = game.getTeamTurn();
+        boolean inCheck = game.isInCheck(team);
+        int staticEval = inCheck ? -INFINITY : Evaluator.evaluate(game.getBoard(), team);
+        if (!pvNode && !inCheck) {
+            if (pruning.reverseFutility() && depth <= REVERSE_FUTILITY_DEPTH && Math.abs(beta) < MATE - MAX_PLY &&
+                    staticEval - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+                return staticEval; // Too far ahead for one quiet move by the opponent to matter
+            }
+            if (pruning.nullMove() && allowNullMove && depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta &&
+                    hasPieces(team)) {
+                int score = nullMoveSearch(depth, ply, beta);
+                if (stopped) {
+                    return 0;
+                }
+                if (score >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        MoveList moves = movesByPly[ply];
+        moves.clear();
+        game.legalMoves(moves);
+        if (moves.isEmpty()) {
+            return inCheck ? -MATE + ply : 0; // Checkmate or stalemate
+        }
+        int hashMove = (ply < previousPv.length && onPreviousPv(ply)) ? previousPv[ply] : tableMove;
+        int[] teamHistory = history[team.ordinal()];
+        MovePicker picker = pickers[ply];
+        picker.reset(moves, game.getBoard(), hashMove, killers[ply][0], killers[ply][1], teamHistory);
+        boolean futile = pruning.futility() && !pvNode && !inCheck && depth <= FUTILITY_DEPTH &&
+                Math.abs(alpha) < MATE - MAX_PLY && staticEval + FUTILITY_MARGIN * depth <= alpha;
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int movesSearched = 0;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            line[ply] = move;
+            game.makeMove(move);
+            boolean givesCheck = game.isInCheck(game.getTeamTurn());
+            boolean quiet = !MovePicker.isTactical(move);
+            if (futile && quiet && !givesCheck && movesSearched > 0) {
+                game.unmakeMove();
+                continue; // Futility pruning: a quiet move won't make up the gap to alpha this close to the leaves
+            }
+
+            int score;
+            if (movesSearched == 0) {
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+            } else {
+                // Principal variation search: with good ordering the first move is usually best, so later
+                // moves only need a null window search to prove they are no better. Moves ordered late are
+                // also searched with less depth (late-move reduction). Either proof failing means a re-search.
+                int reduction = 0;
+                if (pruning.lateMoveReductions() && depth >= LMR_MIN_DEPTH && movesSearched >= LMR_MIN_MOVES &&
+                        !inCheck && !givesCheck && picker.lastMoveOrderedLate()) {
+                    reduction = LMR_REDUCTIONS[Math.min(depth, 63)][Math.min(movesSearched, 63)];
+                }
+                statistics.recordNullWindowSearch();
+                score = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                if (score > alpha && reduction > 0 && !stopped) {
+                    statistics.recordReductionReSearch();
+                    score = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha, true);
+                }
+                if (score > alpha && score < beta && !stopped) {
+                    statistics.recordPvsReSearch();
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+                }
+            }
+            game.unmakeMove();
+            movesSearched++;
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        statistics.recordCutoff(movesSearched);
+                        if (quiet) {
+                            rememberQuietCutoff(move, ply, depth, teamHistory);
+                        }
+                        break; // The opponent won't allow this line, so the remaining moves don't matter
+                    }
+                }
+            }
+        }
+
+        int bound = (bestScore >= beta) ? TranspositionTable.BOUND_LOWER :
+                (bestScore > originalAlpha) ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        table.store(key, (bound == TranspositionTable.BOUND_UPPER) ? Move.NONE : bestMove,
+                scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Null-move pruning: let the opponent move twice in a row. If a reduced search still comes out at or above
+     * beta, a real move would surely do at least as well, so the node can be cut without searching its moves.
+     * In the endgame, where having to move can be a disadvantage (zugzwang), a cut is only trusted once a
+     * reduced search without the pass confirms it.
+     * @return score at or above beta if the node can be cut, otherwise something below beta
+     */
+    private int nullMoveSearch(int depth, int ply, int beta) {
+        int reduction = NULL_MOVE_REDUCTION + depth / 6;
+        line[ply] = Move.NONE;
+        game.makeNullMove();
+        int score = -negamax(depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+        game.unmakeNullMove();
+        if (stopped || score < beta) {
+            return score;
+        }
+        if (score >= MATE - MAX_PLY) {
+            score = beta; // A mate found after passing isn't a real mate
+        }
+        if (game.getBoard().getPhase() > NULL_MOVE_VERIFY_PHASE) {
+            return score;
+        }
+        int verified = negamax(depth - 1 - reduction, ply, beta - 1, beta, false);
+        return (verified >= beta) ? score : verified;
+    }
+
+    /**
+     * @return true if a team has a piece other than its king and pawns. Without one, passing is often the
+     * best move there is, and null-move pruning would be wrong.
+     */
+    private boolean hasPieces(ChessGame.TeamColor team) {
+        ChessBoard board = game.getBoard();
+        long kingsAndPawns = board.getPieces(team, ChessPiece.PieceType.KING) |
+                board.getPieces(team, ChessPiece.PieceType.PAWN);
+        return (board.getTeamPieces(team) & ~kingsAndPawns) != 0;
+    }
+
+    /**
+     * Quiescence search: keep searching captures past the end of the main search, so a line is never scored in
+     * the middle of an exchange. The team to move may also stand pat on the static score, since it is never
+     * forced to capture. Only captures and promotions are generated, so a stalemate here goes unnoticed and is
+     * scored like any quiet position. In check there is no standing pat, so every evasion is searched.
+     * @param ply plies from the root
+     * @param alpha score the team to move is already guaranteed
+     * @param beta score the opponent is already guaranteed
+     * @return score of the position for the team to move once it is quiet
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (stopped) {
+            return 0;
+        }
+        ChessGame.TeamColor team = game.getTeamTurn();
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(game.getBoard(), team);
+        }
+
+        MoveList moves = movesByPly[ply];
+        moves.clear();
+        boolean inCheck = game.isInCheck(team);
+        int bestScore = -INFINITY;
+        int standPat = 0;
+        MovePicker picker = pickers[ply];
+        if (inCheck) {
+            game.legalMoves(moves); // Every evasion
+            if (moves.isEmpty()) {
+                return -MATE + ply;
+            }
+            picker.reset(moves, game.getBoard(), Move.NONE, Move.NONE, Move.NONE, history[team.ordinal()]);
+        } else {
+            standPat = Evaluator.evaluate(game.getBoard(), team);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+            bestScore = standPat;
+            game.legalCaptures(moves); // Quiet moves are never searched here, so they aren't generated
+            picker.resetCaptures(moves, game.getBoard());
+        }
+
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            if (!inCheck) {
+                if (!Move.isPromotion(move) && standPat + capturedValue(move) + DELTA_MARGIN <= alpha) {
+                    continue; // Delta pruning: even winning the piece outright can't lift the score to alpha
+                }
+                if (StaticExchange.evaluate(game.getBoard(), move, exchangeGains) < 0) {
+                    continue; // Loses material once the recaptures are played out
+                }
+            }
+            line[ply] = move;
+            game.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            game.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * @return centipawn value of the piece a capture takes
+     */
+    private int capturedValue(int move) {
+        if (Move.hasFlag(move, Move.FLAG_EN_PASSANT)) {
+            return Evaluator.pieceValue(ChessPiece.PieceType.PAWN);
+        }
+        int victim = game.getBoard().getPieceCode(Move.to(move));
+        return (victim == Bitboards.NO_PIECE) ? 0 : Evaluator.pieceValue(Bitboards.typeIndexOf(victim));
+    }
+
+    /**
+     * Mate scores count plies from the root, but a stored position can be reached at any ply, so the table
+     * keeps them counted from the position itself
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return (score <= -MATE + MAX_PLY) ? score - ply : score;
+    }
+
+    /**
+     * Turn a stored mate score back into plies from the root
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return (score <= -MATE + MAX_PLY) ? score + ply : score;
+    }
+
+    /**
+     * A quiet move refuted the opponent's last move: make it a killer at this ply and raise its history score,
+     * more for deeper cutoffs since those save more work
+     */
+    private void rememberQuietCutoff(int move, int ply, int depth, int[] teamHistory) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = Move.from(move) * Bitboards.NUM_SQUARES + Move.to(move);
+        teamHistory[index] += depth * depth;
+        if (teamHistory[index] > HISTORY_LIMIT) {
+            for (int i = 0; i < teamHistory.length; i++) {
+                teamHistory[i] /= 2; // Keep older cutoffs from outweighing recent ones forever
+            }
+        }
+    }
+
+    /**
+     * @return true if every move made so far follows the previous iteration's principal variation
+     */
+    private boolean onPreviousPv(int ply) {
+        for (int i = 0; i < ply; i++) {
+            if (line[i] != previousPv[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record a new best move at a ply, followed by the best line found below it
+     */
+    private void updatePv(int ply, int move) {
+        pvTable[ply][0] = move;
+        System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    /**
+     * Stop the search once it has used up its time or nodes
+     */
+    private void checkLimits() {
+        if (nodes >= maxNodes || System.nanoTime() >= deadline ||
+                (timeManager != null && timeManager.hardLimitReached())) {
+            stopped = true;
+        }
+    }
+}
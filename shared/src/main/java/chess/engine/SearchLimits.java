@@ -0,0 +1,66 @@
+package chess.engine;
+
+/**
+ * When a search should stop. The search ends at whichever limit it reaches first, or when it is stopped.
+ *
+ * @param maxDepth deepest iteration to run, in plies
+ * @param moveTimeMillis wall clock time to spend, or NO_TIME_LIMIT
+ * @param maxNodes positions to visit before stopping, or NO_NODE_LIMIT
+ */
+public record SearchLimits(int maxDepth, long moveTimeMillis, long maxNodes) {
+
+    public static final int MAX_DEPTH = 64;
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+    public static final long NO_NODE_LIMIT = Long.MAX_VALUE;
+
+    public SearchLimits {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Search depth must be between 1 and " + MAX_DEPTH);
+        }
+    }
+
+    /**
+     * @return limits that search to a fixed depth with no time limit
+     */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, NO_TIME_LIMIT, NO_NODE_LIMIT);
+    }
+
+    /**
+     * @return limits that deepen until the given time has passed
+     */
+    public static SearchLimits moveTime(long millis) {
+        return new SearchLimits(MAX_DEPTH, millis, NO_NODE_LIMIT);
+    }
+
+    /**
+     * @return limits that run until stopped
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(MAX_DEPTH, NO_TIME_LIMIT, NO_NODE_LIMIT);
+    }
+
+    /**
+     * @return these limits with a node limit added
+     */
+    public SearchLimits withNodes(long nodes) {
+        return new SearchLimits(maxDepth, moveTimeMillis, nodes);
+    }
+
+    /**
+     * @param startNanos System.nanoTime() when the search started
+     * @return System.nanoTime() at which the move time runs out, or Long.MAX_VALUE if there is no time limit
+     */
+    public long deadlineNanos(long startNanos) {
+        return deadlineNanos(startNanos, moveTimeMillis);
+    }
+
+    /**
+     * Add a time in milliseconds to a System.nanoTime() reading without overflowing
+     * @return the later reading, or Long.MAX_VALUE if it is too far off to represent
+     */
+    static long deadlineNanos(long startNanos, long millis) {
+        long nanos = (millis >= Long.MAX_VALUE / 1_000_000L) ? Long.MAX_VALUE : Math.max(0, millis) * 1_000_000L;
+        return (startNanos > Long.MAX_VALUE - nanos) ? Long.MAX_VALUE : startNanos + nanos;
+    }
+}
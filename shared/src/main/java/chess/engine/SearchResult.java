@@ -0,0 +1,68 @@
+package chess.engine;
+
+import chess.ChessMove;
+import chess.moves.Move;
+import chess.notation.LongAlgebraic;
+
+import java.util.StringJoiner;
+
+/**
+ * Outcome of a search, or of one iteration of it.
+ *
+ * @param bestMove packed best move, or Move.NONE if the team to move has no legal move
+ * @param score centipawn score for the team to move. Mate scores are within MAX_PLY of Search.MATE.
+ * @param depth deepest iteration that finished
+ * @param principalVariation expected line of play, best move first
+ * @param nodes positions visited
+ * @param elapsedNanos wall clock time the search took
+ */
+public record SearchResult(int bestMove, int score, int depth, int[] principalVariation, long nodes,
+                           long elapsedNanos) {
+
+    /**
+     * @return best move as a ChessMove, or null if there is none
+     */
+    public ChessMove bestChessMove() {
+        return (bestMove == Move.NONE) ? null : Move.toChessMove(bestMove);
+    }
+
+    /**
+     * @return true if the score is a forced mate for either team
+     */
+    public boolean isMateScore() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    /**
+     * @return moves until mate, negative when the team to move is the one getting mated, or 0 if not a mate
+     */
+    public int mateInMoves() {
+        if (!isMateScore()) {
+            return 0;
+        }
+        int plies = Search.MATE - Math.abs(score);
+        return (score > 0) ? (plies + 1) / 2 : -(plies + 1) / 2;
+    }
+
+    /**
+     * @return principal variation in long algebraic notation, separated by spaces
+     */
+    public String principalVariationText() {
+        StringJoiner text = new StringJoiner(" ");
+        for (int move : principalVariation) {
+            text.add(LongAlgebraic.format(move));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "bestMove=" + LongAlgebraic.format(bestMove) +
+                ", score=" + score +
+                ", depth=" + depth +
+                ", pv=" + principalVariationText() +
+                ", nodes=" + nodes +
+                '}';
+    }
+}
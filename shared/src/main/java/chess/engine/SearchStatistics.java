@@ -0,0 +1,208 @@
+package chess.engine;
+
+/**
+ * Counters one search thread keeps about how well its pruning and move ordering are working. Reset at the
+ * start of each search and only updated by the thread running it.
+ */
+public class SearchStatistics {
+
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long nullWindowSearches;
+    private long pvsReSearches;
+    private long reductionReSearches;
+    private long aspirationSearches;
+    private long aspirationFailLows;
+    private long aspirationFailHighs;
+    private long tableProbes;
+    private long tableHits;
+
+    /**
+     * Clear every counter
+     */
+    public void reset() {
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        nullWindowSearches = 0;
+        pvsReSearches = 0;
+        reductionReSearches = 0;
+        aspirationSearches = 0;
+        aspirationFailLows = 0;
+        aspirationFailHighs = 0;
+        tableProbes = 0;
+        tableHits = 0;
+    }
+
+    /**
+     * Count a beta cutoff
+     * @param moveNumber how many moves were searched at the node before the cutoff, counting the one that caused it
+     */
+    void recordCutoff(int moveNumber) {
+        cutoffs++;
+        if (moveNumber == 1) {
+            firstMoveCutoffs++;
+        }
+    }
+
+    /**
+     * Count a move searched with a null window to prove it no better than the best move so far
+     */
+    void recordNullWindowSearch() {
+        nullWindowSearches++;
+    }
+
+    /**
+     * Count a null window search that beat alpha and had to be repeated with the full window
+     */
+    void recordPvsReSearch() {
+        pvsReSearches++;
+    }
+
+    /**
+     * Count a reduced search that beat alpha and had to be repeated at full depth
+     */
+    void recordReductionReSearch() {
+        reductionReSearches++;
+    }
+
+    /**
+     * Count an iteration that started with a narrow window at the root
+     */
+    void recordAspirationSearch() {
+        aspirationSearches++;
+    }
+
+    /**
+     * Count a root score at or below the bottom of the window
+     */
+    void recordAspirationFailLow() {
+        aspirationFailLows++;
+    }
+
+    /**
+     * Count a root score at or above the top of the window
+     */
+    void recordAspirationFailHigh() {
+        aspirationFailHighs++;
+    }
+
+    /**
+     * Count a transposition table lookup
+     * @param hit true if the lookup found its position
+     */
+    void recordTableProbe(boolean hit) {
+        tableProbes++;
+        if (hit) {
+            tableHits++;
+        }
+    }
+
+    /**
+     * @return nodes where a move scored at least beta
+     */
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * @return cutoffs caused by the first move searched
+     */
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * @return fraction of cutoffs caused by the first move searched, the usual measure of move ordering, or 0
+     * before the first cutoff
+     */
+    public double getFirstMoveCutoffRate() {
+        return (cutoffs == 0) ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * @return moves searched with a null window after the first move at a node
+     */
+    public long getNullWindowSearches() {
+        return nullWindowSearches;
+    }
+
+    /**
+     * @return null window searches repeated with the full window
+     */
+    public long getPvsReSearches() {
+        return pvsReSearches;
+    }
+
+    /**
+     * @return fraction of null window searches that had to be repeated, or 0 before the first one
+     */
+    public double getPvsReSearchRate() {
+        return (nullWindowSearches == 0) ? 0.0 : (double) pvsReSearches / nullWindowSearches;
+    }
+
+    /**
+     * @return late-move reductions undone because the reduced search beat alpha
+     */
+    public long getReductionReSearches() {
+        return reductionReSearches;
+    }
+
+    /**
+     * @return iterations that started with a narrow window at the root
+     */
+    public long getAspirationSearches() {
+        return aspirationSearches;
+    }
+
+    /**
+     * @return times the root score fell to or below the window
+     */
+    public long getAspirationFailLows() {
+        return aspirationFailLows;
+    }
+
+    /**
+     * @return times the root score rose to or above the window
+     */
+    public long getAspirationFailHighs() {
+        return aspirationFailHighs;
+    }
+
+    /**
+     * @return root re-searches per narrow window iteration, too high when the window is too narrow, or 0
+     * before the first one
+     */
+    public double getAspirationReSearchRate() {
+        return (aspirationSearches == 0) ? 0.0 :
+                (double) (aspirationFailLows + aspirationFailHighs) / aspirationSearches;
+    }
+
+    /**
+     * @return transposition table lookups made by this search
+     */
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    /**
+     * @return lookups that found their position
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * @return fraction of lookups that found their position, or 0 before the first lookup
+     */
+    public double getTableHitRate() {
+        return (tableProbes == 0) ? 0.0 : (double) tableHits / tableProbes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cutoffs %d, first move %.1f%%, PVS re-searches %.1f%%, " +
+                        "aspiration fail low %d, fail high %d in %d, table hits %.1f%%", cutoffs,
+                100 * getFirstMoveCutoffRate(), 100 * getPvsReSearchRate(), aspirationFailLows, aspirationFailHighs,
+                aspirationSearches, 100 * getTableHitRate());
+    }
+}
@@ -0,0 +1,113 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fixed set of test positions with known best moves, for measuring what each kind of selective pruning
+ * saves. Every position is searched to the same depth with a fresh transposition table, and the suite
+ * reports the total nodes and time it took and how many best moves were found.
+ */
+public class SearchSuite {
+
+    /**
+     * @param name short label for the position
+     * @param fen position to search
+     * @param bestMove expected best move in long algebraic notation
+     */
+    public record SuitePosition(String name, String fen, String bestMove) {}
+
+    /**
+     * @param options pruning the search used
+     * @param depth depth every position was searched to
+     * @param nodes positions visited across the suite
+     * @param elapsedNanos wall clock time across the suite
+     * @param solved positions where the best move was found
+     * @param total positions in the suite
+     */
+    public record SuiteResult(PruningOptions options, int depth, long nodes, long elapsedNanos, int solved,
+                              int total) {
+        @Override
+        public String toString() {
+            return String.format("depth %d: %,d nodes, %.2f s, solved %d/%d", depth, nodes, elapsedNanos / 1e9,
+                    solved, total);
+        }
+    }
+
+    // The first ten positions of Win At Chess, plus a zugzwang that null-move pruning gets wrong unverified
+    public static final List<SuitePosition> POSITIONS = List.of(
+            new SuitePosition("WAC.001", "2rr3k/pp3pp1/1nnqbN1p/3pN3/2pP4/2P3Q1/PPB4P/R4RK1 w - - 0 1", "g3g6"),
+            new SuitePosition("WAC.002", "8/7p/5k2/5p2/p1p2P2/Pr1pPK2/1P1R3P/8 b - - 0 1", "b3b2"),
+            new SuitePosition("WAC.003", "5rk1/1ppb3p/p1pb4/6q1/3P1p1r/2P1R2P/PP1BQ1P1/5RKN w - - 0 1", "e3g3"),
+            new SuitePosition("WAC.004", "r1bq2rk/pp3pbp/2p1p1pQ/7P/3P4/2PB1N2/PP3PPR/2KR4 w - - 0 1", "h6h7"),
+            new SuitePosition("WAC.005", "5k2/6pp/p1qN4/1p1p4/3P4/2PKP2Q/PP3r2/3R4 b - - 0 1", "c6c4"),
+            new SuitePosition("WAC.006", "7k/p7/1R5K/6r1/6p1/6P1/8/8 w - - 0 1", "b6b7"),
+            new SuitePosition("WAC.007", "rnbqkb1r/pppp1ppp/8/4P3/6n1/7P/PPPNPPP1/R1BQKBNR b KQkq - 0 1", "g4e3"),
+            new SuitePosition("WAC.008", "r4q1k/p2bR1rp/2p2Q1N/5p2/5p2/2P5/PP3PPP/R5K1 w - - 0 1", "e7f7"),
+            new SuitePosition("WAC.009", "3q1rk1/p4pp1/2pb3p/3p4/6Pr/1PNQ4/P1PB1PP1/4RRK1 b - - 0 1", "d6h2"),
+            new SuitePosition("WAC.010", "2br2k1/2q3rn/p2NppQ1/2p1P3/Pp5R/4P3/1P3PPP/3R2K1 w - - 0 1", "h4h7"),
+            new SuitePosition("Zugzwang", "8/8/p1p5/1p5p/1P5p/8/PPP2K1p/4R1rk w - - 0 1", "e1f1")
+    );
+
+    /**
+     * Search every suite position
+     * @param options pruning to use
+     * @param depth depth to search each position to
+     * @return totals across the suite
+     */
+    public static SuiteResult run(PruningOptions options, int depth) {
+        long nodes = 0;
+        long elapsed = 0;
+        int solved = 0;
+        for (SuitePosition position : POSITIONS) {
+            ChessGame game = Fen.toGame(position.fen());
+            Search search = new Search();
+            search.setPruning(options);
+            SearchResult result = search.search(game, SearchLimits.depth(depth));
+            nodes += result.nodes();
+            elapsed += result.elapsedNanos();
+            if (LongAlgebraic.format(result.bestMove()).equals(position.bestMove())) {
+                solved++;
+            }
+        }
+        return new SuiteResult(options, depth, nodes, elapsed, solved, POSITIONS.size());
+    }
+
+    /**
+     * @return no pruning, each kind of pruning on its own, and everything together, by label
+     */
+    public static Map<String, PruningOptions> configurations() {
+        Map<String, PruningOptions> configurations = new LinkedHashMap<>();
+        configurations.put("None", PruningOptions.NONE);
+        configurations.put("Null move", PruningOptions.NONE.withNullMove(true));
+        configurations.put("Late-move reductions", PruningOptions.NONE.withLateMoveReductions(true));
+        configurations.put("Futility", PruningOptions.NONE.withFutility(true));
+        configurations.put("Reverse futility", PruningOptions.NONE.withReverseFutility(true));
+        configurations.put("All", PruningOptions.ALL);
+        return configurations;
+    }
+
+    /**
+     * Run the suite once per pruning configuration and print nodes to depth and solve rate for each
+     * @param args depth to search to, 6 if left out
+     */
+    public static void main(String[] args) {
+        int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 6;
+        run(PruningOptions.ALL, Math.min(depth, 4)); // Build attack tables and warm up the JIT
+
+        SuiteResult baseline = null;
+        for (Map.Entry<String, PruningOptions> configuration : configurations().entrySet()) {
+            SuiteResult result = run(configuration.getValue(), depth);
+            if (baseline == null) {
+                baseline = result;
+            }
+            System.out.printf("%-22s %s, %.1fx fewer nodes%n", configuration.getKey() + ":", result,
+                    (double) baseline.nodes() / result.nodes());
+        }
+    }
+}
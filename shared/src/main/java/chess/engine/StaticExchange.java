@@ -0,0 +1,108 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.bitboard.Bitboards;
+import chess.checkendgame.CheckCalculator;
+import chess.moves.Move;
+
+/**
+ * Static exchange evaluation (SEE): works out what a capture wins or loses once both teams have finished
+ * recapturing on its square, without making any moves.
+ * <p>
+ *     Each team recaptures with its least valuable attacker, and either team may stop when recapturing would
+ *     only lose more. Attackers are found with {@link CheckCalculator#attackersTo} against an occupancy that
+ *     drops each piece as it joins the exchange, so rooks, bishops and queens lined up behind one another
+ *     join in turn. Pins are not considered.
+ * </p>
+ */
+public final class StaticExchange {
+
+    private StaticExchange() {}
+
+    private static final int PAWN_INDEX = 5;
+    private static final int KING_INDEX = 0;
+
+    // Piece type ordinals from least to most valuable: pawn, knight, bishop, rook, queen, king
+    private static final int[] CHEAPEST_FIRST = {5, 3, 2, 4, 1, 0};
+
+    public static final int MAX_EXCHANGE = 32; // Captures one exchange can take, the size of a gain buffer
+
+    /**
+     * Evaluate an exchange with a buffer of its own. Searches call the overload that takes a buffer instead,
+     * so evaluating every capture makes no garbage.
+     * @param board board the move is about to be played on
+     * @param move packed move, usually a capture
+     * @return centipawns the moving team comes out ahead once the exchange on the target square is over
+     */
+    public static int evaluate(ChessBoard board, int move) {
+        return evaluate(board, move, new int[MAX_EXCHANGE]);
+    }
+
+    /**
+     * @param board board the move is about to be played on
+     * @param move packed move, usually a capture
+     * @param gain scratch buffer of at least MAX_EXCHANGE entries, overwritten
+     * @return centipawns the moving team comes out ahead once the exchange on the target square is over
+     */
+    public static int evaluate(ChessBoard board, int move, int[] gain) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int moverCode = board.getPieceCode(from);
+        ChessGame.TeamColor side = Bitboards.teamOf(moverCode);
+
+        gain[0] = 0;
+        long occupied = board.getOccupied() & ~Bitboards.bit(from);
+        if (Move.hasFlag(move, Move.FLAG_EN_PASSANT)) {
+            gain[0] = Evaluator.pieceValue(PAWN_INDEX);
+            occupied &= ~Bitboards.bit(to ^ 8); // The captured pawn sits beside the target square
+        } else if (board.getPieceCode(to) != Bitboards.NO_PIECE) {
+            gain[0] = Evaluator.pieceValue(Bitboards.typeIndexOf(board.getPieceCode(to)));
+        }
+        int onSquare = Bitboards.typeIndexOf(moverCode);
+        if (Move.isPromotion(move)) {
+            onSquare = Move.promotionIndex(move);
+            gain[0] += Evaluator.pieceValue(onSquare) - Evaluator.pieceValue(PAWN_INDEX);
+        }
+
+        int depth = 0;
+        side = opponent(side);
+        while (depth + 1 < MAX_EXCHANGE) {
+            long attackers = CheckCalculator.attackersTo(board, to, side, occupied) & occupied;
+            if (attackers == 0) {
+                break;
+            }
+            int attackerType = KING_INDEX;
+            long attacker = 0L;
+            for (int type : CHEAPEST_FIRST) {
+                attacker = attackers & board.getPieces(side.ordinal() * Bitboards.NUM_PIECE_TYPES + type);
+                if (attacker != 0) {
+                    attackerType = type;
+                    break;
+                }
+            }
+            if (attackerType == KING_INDEX &&
+                    (CheckCalculator.attackersTo(board, to, opponent(side), occupied) & occupied) != 0) {
+                break; // The king can't capture onto a defended square
+            }
+            depth++;
+            gain[depth] = Evaluator.pieceValue(onSquare) - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break; // Neither team can come out ahead by carrying on
+            }
+            occupied &= ~Long.lowestOneBit(attacker);
+            onSquare = attackerType;
+            side = opponent(side);
+        }
+
+        while (depth > 0) { // Either team can stand pat instead of recapturing
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor team) {
+        return (team == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
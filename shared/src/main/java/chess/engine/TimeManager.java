@@ -0,0 +1,161 @@
+package chess.engine;
+
+import chess.moves.Move;
+
+/**
+ * Decides how long to think about one move when playing on a clock.
+ * <p>
+ *     The budget is worked out from the time left, the increment and the moves until the next time control.
+ *     An optimum time is what the move should usually take, and a hard limit is what it may take at most.
+ *     After each iteration the search asks whether to start another one. The answer depends on how settled
+ *     the search looks: the optimum is stretched when the best move keeps changing or the score drops, and
+ *     shrunk when the same move has come out on top iteration after iteration. The hard limit is checked
+ *     by the search itself every few thousand nodes, so the clock is never read at every node.
+ * </p>
+ * <p>
+ *     While pondering, the clock belongs to the opponent, so neither limit applies until
+ *     {@link #ponderHit()} starts the clock.
+ * </p>
+ */
+public class TimeManager {
+
+    public static final int DEFAULT_MOVES_TO_GO = 30; // Moves left in the game when the clock doesn't say
+    public static final long MOVE_OVERHEAD_MILLIS = 50; // Kept back for the move to reach the GUI in time
+    private static final int MAX_MOVES_TO_GO = 50;
+    private static final int HARD_LIMIT_FACTOR = 4; // Hard limit as a multiple of the optimum
+    private static final double NEXT_ITERATION_FRACTION = 0.6; // An iteration takes about as long as all before it
+
+    // How the optimum is stretched or shrunk by what the iterations so far have shown
+    private static final double MAX_INSTABILITY = 1.5;
+    private static final int STABLE_ITERATIONS = 4; // Iterations in a row with the same best move to count as settled
+    private static final double STABLE_SCALE = 0.5;
+    private static final int SCORE_DROP_MARGIN = 30; // Centipawns lost since the last iteration to count as trouble
+    private static final double SCORE_DROP_SCALE = 1.3;
+
+    private final long optimumMillis;
+    private final long maximumMillis;
+    private final boolean adaptive; // False when the time per move is fixed, so only the hard limit counts
+
+    private volatile long startNanos;
+    private volatile long hardDeadlineNanos;
+    private volatile boolean pondering;
+
+    // Only touched by the thread running the search
+    private int previousBestMove = Move.NONE;
+    private int previousScore;
+    private int stableIterations;
+    private double instability;
+    private boolean scoreDropped;
+
+    private TimeManager(long optimumMillis, long maximumMillis, boolean adaptive, boolean ponder) {
+        this.optimumMillis = optimumMillis;
+        this.maximumMillis = maximumMillis;
+        this.adaptive = adaptive;
+        pondering = ponder;
+        startNanos = System.nanoTime();
+        hardDeadlineNanos = ponder ? Long.MAX_VALUE : SearchLimits.deadlineNanos(startNanos, maximumMillis);
+    }
+
+    /**
+     * Budget one move from the clock and start timing it
+     * @param remainingMillis time left on the clock of the team to move
+     * @param incrementMillis time added to that clock after each move
+     * @param movesToGo moves until the next time control, or 0 if the rest of the game must be played in the
+     *                  remaining time
+     * @param ponder true to wait for {@link #ponderHit()} before starting the clock
+     * @return time manager for the move
+     */
+    public static TimeManager forClock(long remainingMillis, long incrementMillis, int movesToGo, boolean ponder) {
+        long usable = Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+        int moves = (movesToGo > 0) ? Math.min(movesToGo, MAX_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+        long optimum = Math.max(1, Math.min(usable, usable / moves + incrementMillis * 3 / 4));
+        long maximum = (moves == 1) ? usable : Math.min(optimum * HARD_LIMIT_FACTOR, usable / 2);
+        return new TimeManager(optimum, Math.max(optimum, maximum), true, ponder);
+    }
+
+    /**
+     * Spend a fixed time on one move, whatever the search finds, and start timing it
+     * @param moveTimeMillis time to spend
+     * @param ponder true to wait for {@link #ponderHit()} before starting the clock
+     * @return time manager for the move
+     */
+    public static TimeManager forMoveTime(long moveTimeMillis, boolean ponder) {
+        long millis = Math.max(1, moveTimeMillis);
+        return new TimeManager(millis, millis, false, ponder);
+    }
+
+    /**
+     * The opponent played the expected move, so the clock starts now. Safe to call from any thread.
+     */
+    public void ponderHit() {
+        startNanos = System.nanoTime();
+        hardDeadlineNanos = SearchLimits.deadlineNanos(startNanos, maximumMillis);
+        pondering = false;
+    }
+
+    /**
+     * @return true once the hard limit has passed and the search must stop, finished iteration or not
+     */
+    public boolean hardLimitReached() {
+        return System.nanoTime() >= hardDeadlineNanos;
+    }
+
+    /**
+     * Learn from an iteration that just finished how settled the search is
+     * @param result result of the iteration
+     */
+    public void recordIteration(SearchResult result) {
+        instability /= 2; // Older changes of mind count for less
+        if (previousBestMove != Move.NONE) {
+            if (result.bestMove() == previousBestMove) {
+                stableIterations++;
+            } else {
+                stableIterations = 0;
+                instability += 1.0;
+            }
+            scoreDropped = result.score() <= previousScore - SCORE_DROP_MARGIN;
+        }
+        previousBestMove = result.bestMove();
+        previousScore = result.score();
+    }
+
+    /**
+     * @return true if another iteration is unlikely to finish within the optimum time, as stretched or
+     * shrunk by how settled the search is
+     */
+    public boolean shouldStop() {
+        if (pondering || !adaptive) {
+            return false;
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return elapsedMillis >= softLimitMillis() * NEXT_ITERATION_FRACTION;
+    }
+
+    /**
+     * @return time the move should take given how settled the search is, never past the hard limit
+     */
+    public long softLimitMillis() {
+        double scale = 1.0 + Math.min(instability, MAX_INSTABILITY);
+        if (stableIterations >= STABLE_ITERATIONS) {
+            scale *= STABLE_SCALE;
+        }
+        if (scoreDropped) {
+            scale *= SCORE_DROP_SCALE;
+        }
+        return Math.min(maximumMillis, (long) (optimumMillis * scale));
+    }
+
+    /**
+     * @return time the move should usually take
+     */
+    public long getOptimumMillis() {
+        return optimumMillis;
+    }
+
+    /**
+     * @return most time the move may take
+     */
+    public long getMaximumMillis() {
+        return maximumMillis;
+    }
+}
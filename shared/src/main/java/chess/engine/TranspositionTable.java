@@ -0,0 +1,192 @@
+package chess.engine;
+
+import chess.moves.Move;
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table of search results, shared by every thread searching the same game.
+ * <p>
+ *     Entries live in a flat {@code long[]}, two longs per entry: the position key XORed with the data, then
+ *     the data itself. The data packs the best move, score, depth, bound type and the search generation that
+ *     wrote it. A reader XORs the two longs back together and only trusts the entry if that gives its own
+ *     key, so an entry torn by two threads writing at once just looks like a miss. No locks are needed.
+ * </p>
+ * <p>
+ *     Each key maps to a single slot. A new result replaces the old one if the old one came from an earlier
+ *     search, was searched less deeply, or belongs to the same position.
+ * </p>
+ */
+public class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2; // Score is at least this much: the search failed high
+    public static final int BOUND_UPPER = 3; // Score is at most this much: the search failed low
+
+    public static final long MISS = 0L;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BYTES_PER_ENTRY = ENTRY_LONGS * Long.BYTES;
+
+    // Data layout, from the lowest bit: move (20 bits), score + SCORE_OFFSET (16 bits), depth (8 bits),
+    // bound (2 bits), generation (8 bits)
+    private static final int MOVE_BITS = 20;
+    private static final int SCORE_SHIFT = 20;
+    private static final int DEPTH_SHIFT = 36;
+    private static final int BOUND_SHIFT = 44;
+    private static final int GENERATION_SHIFT = 46;
+    private static final int SCORE_OFFSET = 1 << 15;
+
+    private long[] table;
+    private int indexMask;
+    private int generation;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * @param sizeMb memory to use, rounded down to a power of two number of entries
+     */
+    public TranspositionTable(int sizeMb) {
+        resize(sizeMb);
+    }
+
+    /**
+     * Reallocate the table, dropping every entry. Not safe while a search is using the table.
+     * @param sizeMb memory to use, rounded down to a power of two number of entries
+     */
+    public void resize(int sizeMb) {
+        long entries = Long.highestOneBit(Math.max(1L, (long) sizeMb * 1024 * 1024 / BYTES_PER_ENTRY));
+        entries = Math.min(entries, 1L << 29); // Keep the long array within Java's array size limit
+        table = new long[(int) entries * ENTRY_LONGS];
+        indexMask = (int) entries - 1;
+        clear();
+    }
+
+    /**
+     * Drop every entry
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Start a new search, so entries from earlier searches give way to new ones
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Look up a position
+     * @param key Zobrist key of the position
+     * @return packed entry data, or MISS if the position isn't stored. Read with the static accessors.
+     * Nothing is counted here, since every thread probes the same table: each search counts its own probes
+     * in its SearchStatistics.
+     */
+    public long probe(long key) {
+        int index = slot(key);
+        long data = table[index + 1];
+        if (data == MISS || (table[index] ^ data) != key) {
+            return MISS;
+        }
+        return data;
+    }
+
+    /**
+     * Store a search result, if the replacement policy lets it take the slot
+     * @param key Zobrist key of the position
+     * @param move packed best move, or Move.NONE to keep the move already stored for this position
+     * @param score score to store, already adjusted for mate distance by the caller
+     * @param depth plies the score was searched to
+     * @param bound BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = slot(key);
+        long oldData = table[index + 1];
+        boolean samePosition = oldData != MISS && (table[index] ^ oldData) == key;
+        if (oldData != MISS && !samePosition && generation(oldData) == generation &&
+                depth < depth(oldData) && bound != BOUND_EXACT) {
+            return; // Keep the deeper entry from this search
+        }
+        if (samePosition && move == Move.NONE) {
+            move = move(oldData);
+        }
+        long data = (move & ((1L << MOVE_BITS) - 1)) |
+                ((long) (score + SCORE_OFFSET) << SCORE_SHIFT) |
+                ((long) Math.min(Math.max(depth, 0), 0xFF) << DEPTH_SHIFT) |
+                ((long) bound << BOUND_SHIFT) |
+                ((long) generation << GENERATION_SHIFT);
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    /**
+     * @return packed best move of an entry, or Move.NONE
+     */
+    public static int move(long data) {
+        return (int) (data & ((1L << MOVE_BITS) - 1));
+    }
+
+    /**
+     * @return score of an entry
+     */
+    public static int score(long data) {
+        return (int) ((data >>> SCORE_SHIFT) & 0xFFFF) - SCORE_OFFSET;
+    }
+
+    /**
+     * @return depth an entry was searched to
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    /**
+     * @return bound type of an entry
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    /**
+     * @return search generation that wrote an entry
+     */
+    private static int generation(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & 0xFF);
+    }
+
+    /**
+     * @return number of entries the table holds
+     */
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * Estimate how full the table is with entries from the current search, by sampling the first entries
+     * @return entries per thousand, as UCI reports hashfull
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * ENTRY_LONGS + 1];
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * @return index of the first long of a key's entry
+     */
+    private int slot(long key) {
+        return ((int) (key >>> 32) & indexMask) * ENTRY_LONGS; // High bits, since the low bits pick cache sets
+    }
+}
@@ -0,0 +1,79 @@
+package chess.engine.uci;
+
+/**
+ * The limits a UCI {@code go} command asks for. Values the command leaves out are NOT_SET.
+ *
+ * @param depth plies to search
+ * @param moveTimeMillis exact time to spend on the move
+ * @param whiteTimeMillis time left on white's clock
+ * @param blackTimeMillis time left on black's clock
+ * @param whiteIncrementMillis time white gains after each move
+ * @param blackIncrementMillis time black gains after each move
+ * @param movesToGo moves left until the next time control
+ * @param nodes positions to visit
+ * @param infinite search until told to stop
+ * @param ponder search on the opponent's time, assuming they play the expected move
+ */
+public record GoCommand(int depth, long moveTimeMillis, long whiteTimeMillis, long blackTimeMillis,
+                        long whiteIncrementMillis, long blackIncrementMillis, int movesToGo, long nodes,
+                        boolean infinite, boolean ponder) {
+
+    public static final int NOT_SET = -1;
+
+    /**
+     * Read the arguments of a go command. Unknown words are skipped.
+     * @param tokens the command split on whitespace, starting with "go"
+     * @return limits the command asks for
+     * @throws IllegalArgumentException if a limit is missing its number or the number is malformed
+     */
+    public static GoCommand parse(String[] tokens) {
+        int depth = NOT_SET;
+        long moveTime = NOT_SET;
+        long whiteTime = NOT_SET;
+        long blackTime = NOT_SET;
+        long whiteIncrement = 0;
+        long blackIncrement = 0;
+        int movesToGo = NOT_SET;
+        long nodes = NOT_SET;
+        boolean infinite = false;
+        boolean ponder = false;
+        for (int i = 1; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case "depth" -> depth = (int) number(tokens, ++i);
+                case "movetime" -> moveTime = number(tokens, ++i);
+                case "wtime" -> whiteTime = number(tokens, ++i);
+                case "btime" -> blackTime = number(tokens, ++i);
+                case "winc" -> whiteIncrement = number(tokens, ++i);
+                case "binc" -> blackIncrement = number(tokens, ++i);
+                case "movestogo" -> movesToGo = (int) number(tokens, ++i);
+                case "nodes" -> nodes = number(tokens, ++i);
+                case "infinite" -> infinite = true;
+                case "ponder" -> ponder = true;
+                default -> { } // Limits this engine doesn't support, such as mate and searchmoves
+            }
+        }
+        return new GoCommand(depth, moveTime, whiteTime, blackTime, whiteIncrement, blackIncrement, movesToGo,
+                nodes, infinite, ponder);
+    }
+
+    /**
+     * @return true if the command gives the clock of the team to move, so the engine has to budget its time
+     */
+    public boolean hasClock(boolean whiteToMove) {
+        return (whiteToMove ? whiteTimeMillis : blackTimeMillis) != NOT_SET;
+    }
+
+    /**
+     * Read the number after a limit's name
+     */
+    private static long number(String[] tokens, int index) {
+        if (index >= tokens.length) {
+            throw new IllegalArgumentException("Missing value after " + tokens[index - 1]);
+        }
+        try {
+            return Long.parseLong(tokens[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad value for " + tokens[index - 1] + ": " + tokens[index]);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package chess.engine.uci;
+
+import chess.ChessGame;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TimeManager;
+import chess.engine.TranspositionTable;
+import chess.moves.Move;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Runs the engine over the Universal Chess Interface (UCI), reading commands from standard input and
+ * writing replies to standard output, so chess GUIs and tournament managers can play it without the server.
+ * <p>
+ *     Commands are handled one line at a time on the thread that reads them. Searches run on a thread of
+ *     their own, so the engine keeps answering isready, stop and ponderhit while it thinks. Every finished
+ *     iteration is reported as an info line, and the best move is sent once the search ends. After
+ *     {@code go infinite} or {@code go ponder} the best move is held back until the GUI sends stop or
+ *     ponderhit, as the protocol requires. Moves played on a clock are budgeted by a {@link TimeManager}.
+ * </p>
+ */
+public class UciEngine {
+
+    public static final String NAME = "Chess 2.0";
+    public static final String AUTHOR = "chess-2.0 contributors";
+    public static final int MAX_HASH_MB = 4096;
+
+    private final PrintStream out;
+    private final TranspositionTable table = new TranspositionTable();
+    private final Object lock = new Object();
+    private ParallelSearch search = new ParallelSearch(table, 1);
+    private ChessGame game = new ChessGame();
+    private Thread searchThread;
+    private TimeManager timeManager;
+
+    // Guarded by lock
+    private boolean holdBestMove; // Searching infinitely or pondering, so the best move waits for stop or ponderhit
+    private boolean pondering;
+    private boolean stopRequested;
+    private boolean infinite;
+
+    /**
+     * @param out where replies are written. Search threads write to it too, one line at a time.
+     */
+    public UciEngine(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Speak UCI on standard input and output until quit or the end of input
+     * @param args ignored
+     */
+    public static void main(String[] args) throws IOException {
+        UciEngine engine = new UciEngine(new PrintStream(System.out, true));
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        String line = in.readLine();
+        while (line != null && engine.handle(line)) {
+            line = in.readLine();
+        }
+        engine.quit();
+    }
+
+    /**
+     * Carry out one command from the GUI
+     * @param line command line as received
+     * @return false once the GUI has asked the engine to quit
+     */
+    public boolean handle(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        try {
+            switch (tokens[0]) {
+                case "uci" -> identify();
+                case "isready" -> out.println("readyok");
+                case "ucinewgame" -> {
+                    finishSearch();
+                    table.clear();
+                }
+                case "setoption" -> setOption(tokens);
+                case "position" -> position(tokens);
+                case "go" -> go(GoCommand.parse(tokens));
+                case "stop" -> stop();
+                case "ponderhit" -> ponderHit();
+                case "quit" -> {
+                    quit();
+                    return false;
+                }
+                case "", "debug", "register" -> { } // Nothing to do
+                default -> out.println("info string Unknown command: " + tokens[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            out.println("info string " + e.getMessage()); // UCI has no error reply, so report it and carry on
+        }
+        return true;
+    }
+
+    /**
+     * Stop any search and wait for it to report its move
+     */
+    public void quit() {
+        finishSearch();
+    }
+
+    /**
+     * @return game the next search starts from, as set by the last position command
+     */
+    public ChessGame getGame() {
+        return game;
+    }
+
+    /**
+     * Reply to uci with the engine's name and the options it supports
+     */
+    private void identify() {
+        out.println("id name " + NAME);
+        out.println("id author " + AUTHOR);
+        out.println("option name Hash type spin default " + TranspositionTable.DEFAULT_SIZE_MB + " min 1 max " +
+                MAX_HASH_MB);
+        out.println("option name Threads type spin default 1 min 1 max " + ParallelSearch.MAX_THREADS);
+        out.println("option name Ponder type check default false");
+        out.println("option name Clear Hash type button");
+        out.println("uciok");
+    }
+
+    /**
+     * Handle setoption name [name] value [value]. Option names can contain spaces.
+     */
+    private void setOption(String[] tokens) {
+        int nameIndex = Arrays.asList(tokens).indexOf("name");
+        int valueIndex = Arrays.asList(tokens).indexOf("value");
+        if (nameIndex < 0) {
+            throw new IllegalArgumentException("setoption needs a name");
+        }
+        int nameEnd = (valueIndex < 0) ? tokens.length : valueIndex;
+        String name = String.join(" ", Arrays.copyOfRange(tokens, nameIndex + 1, nameEnd));
+        String value = (valueIndex < 0) ? "" : String.join(" ", Arrays.copyOfRange(tokens, valueIndex + 1,
+                tokens.length));
+
+        finishSearch(); // Options can't change under a running search
+        switch (name.toLowerCase()) {
+            case "hash" -> table.resize(clamp(spinValue(name, value), 1, MAX_HASH_MB));
+            case "threads" -> search = new ParallelSearch(table,
+                    clamp(spinValue(name, value), 1, ParallelSearch.MAX_THREADS));
+            case "clear hash" -> table.clear();
+            case "ponder" -> { } // Pondering is up to the GUI, which says so with go ponder
+            default -> throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Handle position startpos|fen [fen] [moves ...]. If a move is illegal, the moves before it are kept.
+     */
+    private void position(String[] tokens) {
+        finishSearch();
+        int movesIndex = Arrays.asList(tokens).indexOf("moves");
+        int setupEnd = (movesIndex < 0) ? tokens.length : movesIndex;
+        ChessGame position;
+        if (tokens.length > 1 && tokens[1].equals("startpos")) {
+            position = new ChessGame();
+        } else if (tokens.length > 2 && tokens[1].equals("fen")) {
+            position = Fen.toGame(String.join(" ", Arrays.copyOfRange(tokens, 2, setupEnd)));
+        } else {
+            throw new IllegalArgumentException("position needs startpos or fen");
+        }
+        game = position;
+        for (int i = setupEnd + 1; movesIndex >= 0 && i < tokens.length; i++) {
+            int move = LongAlgebraic.parse(game, tokens[i]);
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Illegal move in position: " + tokens[i]);
+            }
+            game.makeMove(move);
+        }
+    }
+
+    /**
+     * Start searching the current position on the search thread
+     */
+    private void go(GoCommand command) {
+        finishSearch();
+        SearchLimits limits = new SearchLimits(
+                (command.depth() == GoCommand.NOT_SET) ? SearchLimits.MAX_DEPTH :
+                        clamp(command.depth(), 1, SearchLimits.MAX_DEPTH),
+                SearchLimits.NO_TIME_LIMIT, // The time manager, if any, keeps the time
+                (command.nodes() == GoCommand.NOT_SET) ? SearchLimits.NO_NODE_LIMIT : command.nodes());
+        timeManager = command.infinite() ? null : timeManager(command);
+        synchronized (lock) {
+            holdBestMove = command.infinite() || command.ponder();
+            pondering = command.ponder();
+            infinite = command.infinite();
+            stopRequested = false;
+        }
+
+        ParallelSearch running = search;
+        running.setTimeManager(timeManager);
+        ChessGame position = game.copy();
+        running.setIterationListener(result -> {
+            out.println(info(result));
+            if (isStopRequested()) {
+                running.stop(); // A stop that arrived before the search began would otherwise be lost
+            }
+        });
+        searchThread = new Thread(() -> report(running.search(position, limits)), "uci-search");
+        searchThread.start();
+    }
+
+    /**
+     * Send the search's move once the GUI lets it, then mark the engine idle
+     */
+    private void report(SearchResult result) {
+        synchronized (lock) {
+            while (holdBestMove) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        int[] pv = result.principalVariation();
+        String move = (result.bestMove() == Move.NONE) ? "0000" : LongAlgebraic.format(result.bestMove());
+        out.println("bestmove " + move + ((pv.length > 1) ? " ponder " + LongAlgebraic.format(pv[1]) : ""));
+    }
+
+    /**
+     * Stop the current search. Its best move is sent straight away.
+     */
+    private void stop() {
+        synchronized (lock) {
+            holdBestMove = false;
+            pondering = false;
+            stopRequested = true;
+            lock.notifyAll();
+        }
+        search.stop();
+    }
+
+    /**
+     * The opponent played the move being pondered, so the search carries on as a normal search and its
+     * clock starts now
+     */
+    private void ponderHit() {
+        synchronized (lock) {
+            if (!pondering) {
+                return;
+            }
+            pondering = false;
+            holdBestMove = infinite;
+            lock.notifyAll(); // A search that already finished can send its move now
+        }
+        if (timeManager != null) {
+            timeManager.ponderHit();
+        }
+    }
+
+    /**
+     * Stop any search and wait until it has sent its move
+     */
+    private void finishSearch() {
+        if (searchThread == null) {
+            return;
+        }
+        stop();
+        try {
+            searchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    private boolean isStopRequested() {
+        synchronized (lock) {
+            return stopRequested;
+        }
+    }
+
+    /**
+     * Budget the move from the time the GUI gave: an exact time per move, or the clock of the team to move
+     * @return time manager for the move, or null if the command sets no time
+     */
+    private TimeManager timeManager(GoCommand command) {
+        if (command.moveTimeMillis() != GoCommand.NOT_SET) {
+            return TimeManager.forMoveTime(command.moveTimeMillis(), command.ponder());
+        }
+        boolean white = game.getTeamTurn() == ChessGame.TeamColor.WHITE;
+        if (!command.hasClock(white)) {
+            return null;
+        }
+        return TimeManager.forClock(white ? command.whiteTimeMillis() : command.blackTimeMillis(),
+                white ? command.whiteIncrementMillis() : command.blackIncrementMillis(),
+                Math.max(0, command.movesToGo()), command.ponder());
+    }
+
+    /**
+     * @return info line reporting one finished iteration
+     */
+    String info(SearchResult result) {
+        long millis = result.elapsedNanos() / 1_000_000;
+        long nps = (result.elapsedNanos() == 0) ? 0 : result.nodes() * 1_000_000_000L / result.elapsedNanos();
+        String score = result.isMateScore() ? "mate " + result.mateInMoves() : "cp " + result.score();
+        return "info depth " + result.depth() + " score " + score + " nodes " + result.nodes() + " nps " + nps +
+                " time " + millis + " hashfull " + table.hashfull() + " pv " + result.principalVariationText();
+    }
+
+    private static int clamp(long value, int min, int max) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    private static long spinValue(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad value for " + name + ": " + value);
+        }
+    }
+}
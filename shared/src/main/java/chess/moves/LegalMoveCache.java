@@ -0,0 +1,128 @@
+package chess.moves;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the legal moves for one square in one position, shared by every game on the server.
+ * <p>
+ *     Entries are keyed by the game's Zobrist key and the start square. The key already covers the pieces,
+ *     the team to move, castling rights and the en passant column, so equal keys mean equal legal moves.
+ *     The least recently used entry is dropped once the cache is full.
+ * </p>
+ * <p>
+ *     Lookups and insertions lock the whole cache. Each one is a single hash map operation, so the lock is
+ *     held far shorter than a generation pass would take.
+ * </p>
+ */
+public class LegalMoveCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 16384;
+
+    private final int maxEntries;
+    private final Map<Long, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Moves for one square, with the full key so that two positions sharing a map key can't be confused
+     */
+    private record Entry(long positionKey, int square, int[] moves) {}
+
+    public LegalMoveCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public LegalMoveCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // Access order, so the eldest entry is the LRU one
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > LegalMoveCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Look up the legal moves for a square
+     * @param positionKey Zobrist key of the game
+     * @param square start square index
+     * @return packed legal moves, or null if they aren't cached. The array is shared and must not be changed.
+     */
+    public int[] get(long positionKey, int square) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(mapKey(positionKey, square));
+        }
+        if (entry == null || entry.positionKey() != positionKey || entry.square() != square) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.moves();
+    }
+
+    /**
+     * Store the legal moves for a square
+     * @param positionKey Zobrist key of the game
+     * @param square start square index
+     * @param moves packed legal moves. The cache keeps the array, so it must not be changed afterward.
+     */
+    public void put(long positionKey, int square, int[] moves) {
+        Entry entry = new Entry(positionKey, square, moves);
+        synchronized (entries) {
+            entries.put(mapKey(positionKey, square), entry);
+        }
+    }
+
+    /**
+     * Drop every entry and reset the counters
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @return number of cached squares
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return lookups that found their moves
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that had to fall back to generating
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return fraction of lookups that hit, or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Spread the square across the key with a large odd multiplier so neighboring squares don't collide
+     */
+    private static long mapKey(long positionKey, int square) {
+        return positionKey ^ ((square + 1) * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -0,0 +1,261 @@
+package chess.moves;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.GameState;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+import chess.checkendgame.CheckCalculator;
+
+/**
+ * Generates strictly legal moves without applying any of them.
+ * <p>
+ *     Before generating, the king's situation is worked out once: which opposing pieces give check, which
+ *     friendly pieces are pinned to the king, and which squares the opposing team attacks. From there:
+ *     the king only steps onto unattacked squares, a double check only allows king moves, a single check only
+ *     allows moves that capture the checker or block its line, and a pinned piece stays on its pin line.
+ * </p>
+ * <p>
+ *     Castling and en passant depend on more than the board, so they are read from the game's packed
+ *     {@link GameState} word. En passant is checked by asking whether the king would be attacked with both
+ *     pawns gone from their squares, which covers the rare case of two pawns leaving the same row at once.
+ * </p>
+ */
+public final class LegalMoveGenerator {
+
+    private LegalMoveGenerator() {}
+
+    /**
+     * Generate every legal move for a team
+     * @param board current arrangement of chess pieces
+     * @param team team to generate moves for
+     * @param state packed game state holding castling rights and the en passant column
+     * @param moves list to append moves to
+     */
+    public static void generateLegalMoves(ChessBoard board, ChessGame.TeamColor team, int state, MoveList moves) {
+        generate(board, team, state, board.getTeamPieces(team), false, false, moves);
+    }
+
+    /**
+     * Generate only the legal captures and promotions for a team, the moves a quiescence search plays.
+     * Quiet moves and castling are never generated. A team in check may also escape by moving the king or
+     * blocking, so use generateLegalMoves for a team in check.
+     * @param board current arrangement of chess pieces
+     * @param team team to generate moves for
+     * @param state packed game state holding the en passant column
+     * @param moves list to append moves to
+     */
+    public static void generateLegalCaptures(ChessBoard board, ChessGame.TeamColor team, int state,
+                                             MoveList moves) {
+        generate(board, team, state, board.getTeamPieces(team), true, false, moves);
+    }
+
+    /**
+     * Check if a team has at least one legal move, stopping as soon as one piece turns up a move
+     * @param board current arrangement of chess pieces
+     * @param team team to check
+     * @param state packed game state holding castling rights and the en passant column
+     * @param scratch list to generate into. Cleared first, and holds whatever was found afterward.
+     * @return true if the team has a legal move
+     */
+    public static boolean hasLegalMove(ChessBoard board, ChessGame.TeamColor team, int state, MoveList scratch) {
+        scratch.clear();
+        generate(board, team, state, board.getTeamPieces(team), false, true, scratch);
+        return !scratch.isEmpty();
+    }
+
+    /**
+     * Generate the legal moves for the piece on one square
+     * @param board current arrangement of chess pieces
+     * @param from square index of the piece to move
+     * @param state packed game state holding castling rights and the en passant column
+     * @param moves list to append moves to. Nothing is added if the square is empty.
+     */
+    public static void generateLegalPieceMoves(ChessBoard board, int from, int state, MoveList moves) {
+        int pieceCode = board.getPieceCode(from);
+        if (pieceCode == Bitboards.NO_PIECE) {
+            return;
+        }
+        generate(board, Bitboards.teamOf(pieceCode), state, Bitboards.bit(from), false, false, moves);
+    }
+
+    /**
+     * Generate legal moves for the given team's pieces on a set of start squares
+     * @param board current arrangement of chess pieces
+     * @param team team that is moving
+     * @param state packed game state
+     * @param fromSquares squares of the pieces to generate moves for
+     * @param capturesOnly generate only captures and promotions
+     * @param stopAtFirst return as soon as any piece has added a move
+     * @param moves list to append moves to
+     */
+    private static void generate(ChessBoard board, ChessGame.TeamColor team, int state, long fromSquares,
+                                 boolean capturesOnly, boolean stopAtFirst, MoveList moves) {
+        ChessGame.TeamColor opponent = (team == ChessGame.TeamColor.WHITE) ?
+                ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        // Squares moves may end on: anywhere, or only opposing pieces, plus the far row for pawns to promote
+        long targets = capturesOnly ? board.getTeamPieces(opponent) : ~0L;
+        long pawnTargets = targets | ((team == ChessGame.TeamColor.WHITE) ? Bitboards.RANK_8 : Bitboards.RANK_1);
+        long pawns = board.getPieces(team, ChessPiece.PieceType.PAWN);
+
+        int startSize = moves.size();
+        int kingSquare = board.getKingSquare(team);
+        if (kingSquare == Bitboards.NO_SQUARE) { // Nothing to protect, so every move follows the rules
+            generateFrom(board, fromSquares & ~pawns, targets, moves);
+            generateFrom(board, fromSquares & pawns, pawnTargets, moves);
+            addEnPassant(board, team, state, fromSquares, kingSquare, moves);
+            return;
+        }
+
+        long occupied = board.getOccupied();
+        long kingBit = Bitboards.bit(kingSquare);
+        long checkers = CheckCalculator.attackersTo(board, kingSquare, opponent, occupied);
+
+        if ((fromSquares & kingBit) != 0) {
+            // Remove the king when finding danger so that it can't hide behind itself along a slider's line
+            long danger = attackedSquares(board, opponent, occupied & ~kingBit);
+            MoveGenerator.generatePieceMoves(board, kingSquare, ~danger & targets, moves);
+            if (checkers == 0 && !capturesOnly) {
+                addCastling(board, team, state, kingSquare, occupied, danger, moves);
+            }
+        }
+        if (Long.bitCount(checkers) > 1 || (stopAtFirst && moves.size() > startSize)) {
+            return; // Only the king can escape a double check
+        }
+
+        long checkBlocks = ~0L;
+        if (checkers != 0) { // Must capture the checking piece or step in front of it
+            checkBlocks = checkers | AttackTables.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        }
+        long pinned = pinnedPieces(board, team, opponent, kingSquare, occupied);
+
+        long pieces = fromSquares & ~kingBit;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            long allowed = checkBlocks & (Bitboards.isSet(pawns, from) ? pawnTargets : targets);
+            if (Bitboards.isSet(pinned, from)) {
+                allowed &= AttackTables.line(kingSquare, from);
+            }
+            MoveGenerator.generatePieceMoves(board, from, allowed, moves);
+            if (stopAtFirst && moves.size() > startSize) {
+                return;
+            }
+            pieces &= pieces - 1;
+        }
+        addEnPassant(board, team, state, fromSquares, kingSquare, moves);
+    }
+
+    /**
+     * Add castling moves for a king that is not in check. Each side needs its castling right, its rook at
+     * home, empty squares between king and rook, and no attacks on the squares the king crosses or lands on.
+     * @param danger squares the opposing team attacks
+     */
+    private static void addCastling(ChessBoard board, ChessGame.TeamColor team, int state, int kingSquare,
+                                    long occupied, long danger, MoveList moves) {
+        boolean white = (team == ChessGame.TeamColor.WHITE);
+        int home = white ? GameState.WHITE_KING_HOME : GameState.BLACK_KING_HOME;
+        if (kingSquare != home) {
+            return;
+        }
+        int rook = Bitboards.pieceCode(team, ChessPiece.PieceType.ROOK);
+        int kingside = white ? GameState.WHITE_KINGSIDE : GameState.BLACK_KINGSIDE;
+        int queenside = white ? GameState.WHITE_QUEENSIDE : GameState.BLACK_QUEENSIDE;
+
+        if ((state & kingside) != 0 && board.getPieceCode(home + 3) == rook &&
+                (occupied & AttackTables.between(home, home + 3)) == 0 &&
+                (danger & (Bitboards.bit(home + 1) | Bitboards.bit(home + 2))) == 0) {
+            moves.add(Move.of(home, home + 2, Move.FLAG_CASTLE));
+        }
+        if ((state & queenside) != 0 && board.getPieceCode(home - 4) == rook &&
+                (occupied & AttackTables.between(home, home - 4)) == 0 &&
+                (danger & (Bitboards.bit(home - 1) | Bitboards.bit(home - 2))) == 0) {
+            moves.add(Move.of(home, home - 2, Move.FLAG_CASTLE));
+        }
+    }
+
+    /**
+     * Add en passant captures for the team to move, keeping only those that don't expose the king
+     * @param kingSquare square of the moving team's king, or NO_SQUARE if it has none
+     */
+    private static void addEnPassant(ChessBoard board, ChessGame.TeamColor team, int state, long fromSquares,
+                                     int kingSquare, MoveList moves) {
+        int target = GameState.enPassantSquare(state);
+        if (target == Bitboards.NO_SQUARE || GameState.sideToMove(state) != team) {
+            return;
+        }
+        ChessGame.TeamColor opponent = (team == ChessGame.TeamColor.WHITE) ?
+                ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        int captured = target ^ 8; // The captured pawn sits one row behind the target square
+        long capturedBit = Bitboards.bit(captured);
+        long capturers = AttackTables.pawnAttacks(opponent.ordinal(), target) &
+                board.getPieces(team, ChessPiece.PieceType.PAWN) & fromSquares;
+        while (capturers != 0) {
+            int from = Long.numberOfTrailingZeros(capturers);
+            long occupiedAfter = (board.getOccupied() ^ Bitboards.bit(from) ^ capturedBit) | Bitboards.bit(target);
+            if (kingSquare == Bitboards.NO_SQUARE ||
+                    (CheckCalculator.attackersTo(board, kingSquare, opponent, occupiedAfter) & ~capturedBit) == 0) {
+                moves.add(Move.of(from, target, Move.FLAG_EN_PASSANT | Move.FLAG_CAPTURE));
+            }
+            capturers &= capturers - 1;
+        }
+    }
+
+    /**
+     * Generate moves for every piece on a set of squares
+     */
+    private static void generateFrom(ChessBoard board, long fromSquares, long allowedTargets, MoveList moves) {
+        while (fromSquares != 0) {
+            MoveGenerator.generatePieceMoves(board, Long.numberOfTrailingZeros(fromSquares), allowedTargets, moves);
+            fromSquares &= fromSquares - 1;
+        }
+    }
+
+    /**
+     * Find the friendly pieces that are the only thing standing between their king and an opposing slider
+     * @return bitboard of pinned pieces
+     */
+    private static long pinnedPieces(ChessBoard board, ChessGame.TeamColor team, ChessGame.TeamColor opponent,
+                                     int kingSquare, long occupied) {
+        long queens = board.getPieces(opponent, ChessPiece.PieceType.QUEEN);
+        long snipers = (AttackTables.rookAttacks(kingSquare, 0L) &
+                (board.getPieces(opponent, ChessPiece.PieceType.ROOK) | queens)) |
+                (AttackTables.bishopAttacks(kingSquare, 0L) &
+                (board.getPieces(opponent, ChessPiece.PieceType.BISHOP) | queens));
+        long teammates = board.getTeamPieces(team);
+        long pinned = 0L;
+        while (snipers != 0) {
+            long blockers = AttackTables.between(kingSquare, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & teammates;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    /**
+     * Find every square a team attacks
+     * @param board current arrangement of chess pieces
+     * @param byTeam attacking team
+     * @param occupied blockers to use for sliding pieces
+     * @return bitboard of attacked squares
+     */
+    private static long attackedSquares(ChessBoard board, ChessGame.TeamColor byTeam, long occupied) {
+        long attacked = 0L;
+        long pieces = board.getTeamPieces(byTeam);
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            attacked |= switch (Bitboards.typeOf(board.getPieceCode(square))) {
+                case PAWN -> AttackTables.pawnAttacks(byTeam.ordinal(), square);
+                case KNIGHT -> AttackTables.knightAttacks(square);
+                case BISHOP -> AttackTables.bishopAttacks(square, occupied);
+                case ROOK -> AttackTables.rookAttacks(square, occupied);
+                case QUEEN -> AttackTables.queenAttacks(square, occupied);
+                case KING -> AttackTables.kingAttacks(square);
+            };
+            pieces &= pieces - 1;
+        }
+        return attacked;
+    }
+}
@@ -0,0 +1,133 @@
+package chess.moves;
+
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.bitboard.Bitboards;
+
+/**
+ * Packs a chess move into a single int so moves can be generated and stored without allocating objects.
+ * <p>
+ *     Layout, from the lowest bit: start square (6 bits), end square (6 bits), promotion piece type
+ *     ordinal + 1 or 0 for no promotion (3 bits), and flag bits.
+ * </p>
+ */
+public final class Move {
+
+    private Move() {}
+
+    public static final int NONE = 0; // a1 to a1 can never be generated
+
+    public static final int FLAG_CAPTURE = 1 << 15;
+    public static final int FLAG_DOUBLE_PAWN_PUSH = 1 << 16;
+    public static final int FLAG_EN_PASSANT = 1 << 17;
+    public static final int FLAG_CASTLE = 1 << 18;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int END_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final int SQUARES_AND_PROMOTION_MASK = (1 << 15) - 1;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    /**
+     * Encode a move
+     * @param from start square index
+     * @param to end square index
+     * @param flags any combination of the FLAG constants
+     * @return packed move
+     */
+    public static int of(int from, int to, int flags) {
+        return from | (to << END_SHIFT) | flags;
+    }
+
+    /**
+     * Encode a pawn promotion
+     * @param from start square index
+     * @param to end square index
+     * @param promotionType piece type the pawn becomes
+     * @param flags any combination of the FLAG constants
+     * @return packed move
+     */
+    public static int ofPromotion(int from, int to, ChessPiece.PieceType promotionType, int flags) {
+        return of(from, to, flags) | ((promotionType.ordinal() + 1) << PROMOTION_SHIFT);
+    }
+
+    /**
+     * @return start square index of the move
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * @return end square index of the move
+     */
+    public static int to(int move) {
+        return (move >>> END_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * @return piece type ordinal a pawn is promoted to, or -1 if the move is not a promotion
+     */
+    public static int promotionIndex(int move) {
+        return ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) - 1;
+    }
+
+    /**
+     * @return true if the move promotes a pawn
+     */
+    public static boolean isPromotion(int move) {
+        return ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) != 0;
+    }
+
+    /**
+     * @return true if the move has the given flag set
+     */
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * @return true if the move takes an opposing piece, including en passant
+     */
+    public static boolean isCapture(int move) {
+        return (move & (FLAG_CAPTURE | FLAG_EN_PASSANT)) != 0;
+    }
+
+    /**
+     * Check whether a packed move and a ChessMove describe the same start, end and promotion.
+     * Flags are ignored since ChessMove does not carry them.
+     * @param move packed move
+     * @param chessMove move to compare against
+     * @return true if both moves match
+     */
+    public static boolean matches(int move, ChessMove chessMove) {
+        return (move & SQUARES_AND_PROMOTION_MASK) == (encode(chessMove) & SQUARES_AND_PROMOTION_MASK);
+    }
+
+    /**
+     * Pack a ChessMove without any flags
+     * @param chessMove move to pack
+     * @return packed move
+     */
+    public static int encode(ChessMove chessMove) {
+        ChessPosition start = chessMove.getStartPosition();
+        ChessPosition end = chessMove.getEndPosition();
+        int from = Bitboards.square(start.getRow(), start.getColumn());
+        int to = Bitboards.square(end.getRow(), end.getColumn());
+        ChessPiece.PieceType promotion = chessMove.getPromotionPiece();
+        return (promotion == null) ? of(from, to, 0) : ofPromotion(from, to, promotion, 0);
+    }
+
+    /**
+     * Unpack a move into a ChessMove, dropping the flags
+     * @param move packed move
+     * @return equivalent ChessMove
+     */
+    public static ChessMove toChessMove(int move) {
+        ChessPiece.PieceType promotion = isPromotion(move) ? TYPES[promotionIndex(move)] : null;
+        return ChessMove.of(from(move), to(move), promotion);
+    }
+}
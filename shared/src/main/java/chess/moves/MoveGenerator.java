@@ -0,0 +1,141 @@
+package chess.moves;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+
+/**
+ * Generates moves as packed ints into a caller-supplied MoveList. Nothing is allocated per move, so a
+ * single MoveList can be reused for every generation pass.
+ * <p>
+ *     Moves are pseudo-legal: they follow each piece's movement rules but may leave the mover's own
+ *     king in danger.
+ * </p>
+ */
+public final class MoveGenerator {
+
+    private MoveGenerator() {}
+
+    // Promotion choices, strongest first so the best promotion is tried first
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+            ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT
+    };
+
+    /**
+     * Generate moves for every piece of a team
+     * @param board current arrangement of chess pieces
+     * @param team team to generate moves for
+     * @param moves list to append moves to
+     */
+    public static void generateMoves(ChessBoard board, ChessGame.TeamColor team, MoveList moves) {
+        long pieces = board.getTeamPieces(team);
+        while (pieces != 0) {
+            generatePieceMoves(board, Long.numberOfTrailingZeros(pieces), moves);
+            pieces &= pieces - 1;
+        }
+    }
+
+    /**
+     * Generate moves for the piece on one square
+     * @param board current arrangement of chess pieces
+     * @param from square index of the piece to move
+     * @param moves list to append moves to. Nothing is added if the square is empty.
+     */
+    public static void generatePieceMoves(ChessBoard board, int from, MoveList moves) {
+        generatePieceMoves(board, from, ~0L, moves);
+    }
+
+    /**
+     * Generate moves for the piece on one square, keeping only moves that end inside a target mask
+     * @param board current arrangement of chess pieces
+     * @param from square index of the piece to move
+     * @param allowedTargets squares the piece is allowed to move to
+     * @param moves list to append moves to. Nothing is added if the square is empty.
+     */
+    static void generatePieceMoves(ChessBoard board, int from, long allowedTargets, MoveList moves) {
+        int pieceCode = board.getPieceCode(from);
+        if (pieceCode == Bitboards.NO_PIECE) {
+            return;
+        }
+        ChessGame.TeamColor team = Bitboards.teamOf(pieceCode);
+        long occupied = board.getOccupied();
+        long teammates = board.getTeamPieces(team);
+        long rivals = occupied & ~teammates;
+        long targets = ~teammates & allowedTargets;
+
+        switch (Bitboards.typeOf(pieceCode)) {
+            case ROOK -> addTargets(from, AttackTables.rookAttacks(from, occupied) & targets, rivals, moves);
+            case KNIGHT -> addTargets(from, AttackTables.knightAttacks(from) & targets, rivals, moves);
+            case BISHOP -> addTargets(from, AttackTables.bishopAttacks(from, occupied) & targets, rivals, moves);
+            case QUEEN -> addTargets(from, AttackTables.queenAttacks(from, occupied) & targets, rivals, moves);
+            case KING -> addTargets(from, AttackTables.kingAttacks(from) & targets, rivals, moves);
+            case PAWN -> addPawnMoves(from, team.ordinal(), occupied, rivals, allowedTargets, moves);
+        }
+    }
+
+    /**
+     * Add a move from a start square to every square in a target bitboard
+     * @param from start square index
+     * @param targets squares the piece can claim
+     * @param rivals squares holding opposing pieces, used to flag captures
+     * @param moves list to append moves to
+     */
+    static void addTargets(int from, long targets, long rivals, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.of(from, to, Bitboards.isSet(rivals, to) ? Move.FLAG_CAPTURE : 0));
+            targets &= targets - 1;
+        }
+    }
+
+    /**
+     * Add pawn pushes and captures. Works for black and white pawns.
+     * @param from square the pawn sits on
+     * @param teamIndex 0 for white, 1 for black
+     * @param occupied every occupied square
+     * @param rivals squares holding opposing pieces
+     * @param allowedTargets squares the pawn is allowed to move to
+     * @param moves list to append moves to
+     */
+    private static void addPawnMoves(int from, int teamIndex, long occupied, long rivals, long allowedTargets,
+                                     MoveList moves) {
+        int step = (teamIndex == 0) ? 8 : -8; // White moves up, Black moves down
+        int startRow = (teamIndex == 0) ? 2 : 7;
+        int oneForward = from + step;
+
+        // Regular one-square forward move, and the double-forward move if the pawn is at its start
+        if (oneForward >= 0 && oneForward < Bitboards.NUM_SQUARES && !Bitboards.isSet(occupied, oneForward)) {
+            if (Bitboards.isSet(allowedTargets, oneForward)) {
+                addPawnMove(from, oneForward, 0, moves);
+            }
+            int twoForward = oneForward + step;
+            if (Bitboards.rowOf(from) == startRow && !Bitboards.isSet(occupied, twoForward) &&
+                    Bitboards.isSet(allowedTargets, twoForward)) {
+                moves.add(Move.of(from, twoForward, Move.FLAG_DOUBLE_PAWN_PUSH));
+            }
+        }
+
+        // Capture moves (diagonal left and right)
+        long captures = AttackTables.pawnAttacks(teamIndex, from) & rivals & allowedTargets;
+        while (captures != 0) {
+            addPawnMove(from, Long.numberOfTrailingZeros(captures), Move.FLAG_CAPTURE, moves);
+            captures &= captures - 1;
+        }
+    }
+
+    /**
+     * Add a pawn move, expanding it into all four promotions if it reaches the far end of the board
+     */
+    private static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        if ((Bitboards.bit(to) & (Bitboards.RANK_1 | Bitboards.RANK_8)) != 0) {
+            for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+                moves.add(Move.ofPromotion(from, to, type, flags));
+            }
+        } else {
+            moves.add(Move.of(from, to, flags));
+        }
+    }
+}
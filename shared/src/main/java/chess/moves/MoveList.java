@@ -0,0 +1,132 @@
+package chess.moves;
+
+import chess.ChessMove;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Reusable buffer of packed moves. Allocate one up front and clear it between generation passes so that
+ * generating moves never touches the heap.
+ */
+public class MoveList {
+
+    // No legal chess position has more than 218 moves
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+    }
+
+    /**
+     * Append a packed move
+     * @param move packed move to add
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * @param index position in the list
+     * @return packed move at the index
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Overwrite the move at an index
+     * @param index position in the list
+     * @param move packed move to store
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * @return number of moves in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the list holds no moves
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empty the list without releasing its buffer
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Drop every move past the given size
+     * @param newSize number of moves to keep
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    /**
+     * Append every move in an array
+     * @param packedMoves packed moves to add
+     */
+    public void addAll(int[] packedMoves) {
+        System.arraycopy(packedMoves, 0, moves, size, packedMoves.length);
+        size += packedMoves.length;
+    }
+
+    /**
+     * @return new array holding the moves in the list, in order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    /**
+     * Find the packed move matching a ChessMove's start, end and promotion
+     * @param chessMove move to look for
+     * @return matching packed move with its flags, or Move.NONE if not in the list
+     */
+    public int find(ChessMove chessMove) {
+        for (int i = 0; i < size; i++) {
+            if (Move.matches(moves[i], chessMove)) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Adapter for callers that work with ChessMove objects
+     * @param out collection to add every move in the list to
+     * @return the given collection
+     */
+    public <T extends Collection<ChessMove>> T toChessMoves(T out) {
+        for (int i = 0; i < size; i++) {
+            out.add(Move.toChessMove(moves[i]));
+        }
+        return out;
+    }
+
+    /**
+     * Adapter for callers that work with ChessMove objects
+     * @return new set holding every move in the list
+     */
+    public HashSet<ChessMove> toChessMoves() {
+        return toChessMoves(new HashSet<>());
+    }
+}
@@ -0,0 +1,223 @@
+package chess.notation;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.GameState;
+import chess.bitboard.AttackTables;
+import chess.bitboard.Bitboards;
+
+import java.util.Map;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation (FEN).
+ * <p>
+ *     Example: {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}. Piece placement, side to
+ *     move, castling rights, en passant square and halfmove clock are applied. The fullmove number is
+ *     accepted but not tracked by ChessGame, so it is always written as 1.
+ * </p>
+ * <p>
+ *     Missing trailing fields default to no castling, no en passant and a zero clock. An en passant square
+ *     is only kept when a pawn can actually make the capture, matching how ChessGame records it.
+ * </p>
+ */
+public final class Fen {
+
+    private Fen() {}
+
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final Map<Character, ChessPiece.PieceType> CHAR_TO_TYPE = Map.of(
+            'p', ChessPiece.PieceType.PAWN,
+            'n', ChessPiece.PieceType.KNIGHT,
+            'b', ChessPiece.PieceType.BISHOP,
+            'r', ChessPiece.PieceType.ROOK,
+            'q', ChessPiece.PieceType.QUEEN,
+            'k', ChessPiece.PieceType.KING);
+
+    private static final String CASTLING_CHARS = "KQkq"; // Same order as the GameState castling right bits
+
+    /**
+     * Build a game from a FEN string
+     * @param fen position in FEN
+     * @return game set up in the described position
+     * @throws IllegalArgumentException if the string is not valid FEN
+     */
+    public static ChessGame toGame(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("FEN needs at least piece placement and side to move: " + fen);
+        }
+        ChessGame game = new ChessGame();
+        ChessBoard board = parsePlacement(fields[0]);
+        game.setBoard(board);
+        ChessGame.TeamColor team = switch (fields[1]) {
+            case "w" -> ChessGame.TeamColor.WHITE;
+            case "b" -> ChessGame.TeamColor.BLACK;
+            default -> throw new IllegalArgumentException("Bad side to move in FEN: " + fields[1]);
+        };
+
+        int state = GameState.of(team, (fields.length > 2) ? parseCastling(fields[2]) : 0);
+        if (fields.length > 3) {
+            state = GameState.withEnPassantFile(state, parseEnPassant(fields[3], board, team));
+        }
+        if (fields.length > 4) {
+            state = GameState.withHalfmoveClock(state, parseHalfmoveClock(fields[4]));
+        }
+        game.setState(state);
+        return game;
+    }
+
+    /**
+     * Write a game's position as FEN
+     * @param game game to describe
+     * @return position in FEN
+     */
+    public static String fromGame(ChessGame game) {
+        StringBuilder fen = new StringBuilder();
+        ChessBoard board = game.getBoard();
+        for (int row = 8; row >= 1; row--) {
+            int emptyRun = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(row, col));
+                if (piece == null) {
+                    emptyRun++;
+                    continue;
+                }
+                if (emptyRun > 0) {
+                    fen.append(emptyRun);
+                    emptyRun = 0;
+                }
+                fen.append(pieceChar(piece));
+            }
+            if (emptyRun > 0) {
+                fen.append(emptyRun);
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+        int state = game.getState();
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        int rights = GameState.castlingRights(state);
+        for (int i = 0; i < CASTLING_CHARS.length(); i++) {
+            if ((rights & (GameState.WHITE_KINGSIDE << i)) != 0) {
+                fen.append(CASTLING_CHARS.charAt(i));
+            }
+        }
+        if (rights == 0) {
+            fen.append('-');
+        }
+        int enPassant = GameState.enPassantSquare(state);
+        if (enPassant == Bitboards.NO_SQUARE) {
+            fen.append(" -");
+        } else {
+            fen.append(' ').append((char) ('a' + Bitboards.columnOf(enPassant) - 1)).append(Bitboards.rowOf(enPassant));
+        }
+        fen.append(' ').append(GameState.halfmoveClock(state)).append(" 1");
+        return fen.toString();
+    }
+
+    /**
+     * Read the castling field, such as KQkq or -
+     * @return castling right bits
+     */
+    private static int parseCastling(String field) {
+        if (field.equals("-")) {
+            return 0;
+        }
+        int rights = 0;
+        for (char c : field.toCharArray()) {
+            int i = CASTLING_CHARS.indexOf(c);
+            if (i < 0) {
+                throw new IllegalArgumentException("Bad castling rights in FEN: " + field);
+            }
+            rights |= GameState.WHITE_KINGSIDE << i;
+        }
+        return rights;
+    }
+
+    /**
+     * Read the halfmove clock field, a count of plies that can't be negative
+     * @return plies since the last capture or pawn move
+     */
+    private static int parseHalfmoveClock(String field) {
+        try {
+            int clock = Integer.parseInt(field);
+            if (clock >= 0) {
+                return clock;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below along with negative clocks
+        }
+        throw new IllegalArgumentException("Bad halfmove clock in FEN: " + field);
+    }
+
+    /**
+     * Read the en passant field, such as e3 or -
+     * @return column index from 0 to 7, or -1 if there is no square or no pawn able to capture onto it
+     */
+    private static int parseEnPassant(String field, ChessBoard board, ChessGame.TeamColor team) {
+        if (field.equals("-")) {
+            return -1;
+        }
+        int expectedRow = (team == ChessGame.TeamColor.WHITE) ? 6 : 3;
+        if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h' ||
+                field.charAt(1) - '0' != expectedRow) {
+            throw new IllegalArgumentException("Bad en passant square in FEN: " + field);
+        }
+        int square = Bitboards.square(expectedRow, field.charAt(0) - 'a' + 1);
+        long capturers = AttackTables.pawnAttacks(1 - team.ordinal(), square) &
+                board.getPieces(team, ChessPiece.PieceType.PAWN);
+        return (capturers != 0) ? field.charAt(0) - 'a' : -1;
+    }
+
+    /**
+     * Read the piece placement field, rank 8 first
+     */
+    private static ChessBoard parsePlacement(String placement) {
+        String[] rows = placement.split("/");
+        if (rows.length != 8) {
+            throw new IllegalArgumentException("FEN placement needs 8 rows: " + placement);
+        }
+        ChessBoard board = new ChessBoard();
+        for (int i = 0; i < 8; i++) {
+            int row = 8 - i;
+            int col = 1;
+            for (char c : rows[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    col += c - '0';
+                    continue;
+                }
+                ChessPiece.PieceType type = CHAR_TO_TYPE.get(Character.toLowerCase(c));
+                if (type == null || col > 8) {
+                    throw new IllegalArgumentException("Bad FEN row: " + rows[i]);
+                }
+                ChessGame.TeamColor team = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE :
+                        ChessGame.TeamColor.BLACK;
+                board.addPiece(ChessPosition.of(row, col), ChessPiece.of(team, type));
+                col++;
+            }
+            if (col != 9) {
+                throw new IllegalArgumentException("FEN row does not cover 8 columns: " + rows[i]);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @return FEN letter for a piece, upper case for white
+     */
+    private static char pieceChar(ChessPiece piece) {
+        char c = switch (piece.getPieceType()) {
+            case PAWN -> 'p';
+            case KNIGHT -> 'n';
+            case BISHOP -> 'b';
+            case ROOK -> 'r';
+            case QUEEN -> 'q';
+            case KING -> 'k';
+        };
+        return piece.getTeamColor() == ChessGame.TeamColor.WHITE ? Character.toUpperCase(c) : c;
+    }
+}
@@ -0,0 +1,59 @@
+package chess.notation;
+
+import chess.ChessGame;
+import chess.bitboard.Bitboards;
+import chess.moves.LegalMoveGenerator;
+import chess.moves.Move;
+import chess.moves.MoveList;
+
+/**
+ * Long algebraic move notation as used by UCI: start square, end square and an optional promotion letter,
+ * for example {@code e2e4} or {@code e7e8q}.
+ */
+public final class LongAlgebraic {
+
+    private LongAlgebraic() {}
+
+    // Promotion letters indexed by piece type ordinal
+    private static final String PIECE_LETTERS = "kqbnrp";
+
+    /**
+     * Write a packed move in long algebraic notation
+     * @param move packed move
+     * @return move text such as e2e4
+     */
+    public static String format(int move) {
+        StringBuilder text = new StringBuilder(5);
+        appendSquare(text, Move.from(move));
+        appendSquare(text, Move.to(move));
+        if (Move.isPromotion(move)) {
+            text.append(PIECE_LETTERS.charAt(Move.promotionIndex(move)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Find the legal move for the team to move that matches the given text
+     * @param game game the move is played in
+     * @param text move text such as e2e4
+     * @return matching packed legal move, or Move.NONE if the text is malformed or the move is not legal
+     */
+    public static int parse(ChessGame game, String text) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateLegalMoves(game.getBoard(), game.getTeamTurn(), game.getState(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (format(moves.get(i)).equals(text)) {
+                return moves.get(i);
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Append a square name such as e4
+     */
+    private static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('a' + Bitboards.columnOf(square) - 1));
+        text.append((char) ('0' + Bitboards.rowOf(square)));
+    }
+}
@@ -0,0 +1,177 @@
+package chess.perft;
+
+import chess.ChessGame;
+import chess.moves.LegalMoveGenerator;
+import chess.moves.MoveList;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Performance test (perft): counts every leaf position reachable from a start position in a fixed number of
+ * plies. Known counts for standard positions catch move generation bugs, and the time taken measures
+ * generation speed.
+ * <p>
+ *     Run from the command line with a depth and an optional FEN position:
+ *     {@code java -cp shared/target/classes chess.perft.Perft 5 "<fen>"}
+ * </p>
+ * <p>
+ *     Add {@code --threads N} to also split the root moves across N threads. Both runs are timed and the
+ *     report shows the speedup and scaling efficiency of the parallel one.
+ * </p>
+ */
+public class Perft {
+
+    private final MoveList[] movesByPly; // One preallocated list per ply, so counting never allocates
+
+    /**
+     * @param maxDepth deepest perft this instance will be asked to run
+     */
+    public Perft(int maxDepth) {
+        movesByPly = new MoveList[Math.max(maxDepth, 1)];
+        for (int ply = 0; ply < movesByPly.length; ply++) {
+            movesByPly[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Count leaf positions below a game's position. The game is left as it was found.
+     * @param game game to count from
+     * @param depth number of plies
+     * @return number of leaf positions
+     */
+    public long count(ChessGame game, int depth) {
+        return count(game, depth, 0);
+    }
+
+    private long count(ChessGame game, int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = movesByPly[ply];
+        moves.clear();
+        LegalMoveGenerator.generateLegalMoves(game.getBoard(), game.getTeamTurn(), game.getState(), moves);
+        if (depth == 1) {
+            return moves.size(); // Bulk count the last ply instead of making each move
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            nodes += count(game, depth - 1, ply + 1);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Count leaf positions below each root move and time the whole run
+     * @param game game to count from. Left as it was found.
+     * @param depth number of plies, at least 1
+     * @return total count, per-move counts and timing
+     * @throws IllegalArgumentException if depth is below 1, since there are no root moves to divide by
+     */
+    public PerftResult divide(ChessGame game, int depth) {
+        requireRootMoves(depth);
+        long start = System.nanoTime();
+        Map<String, Long> divide = new LinkedHashMap<>();
+        MoveList rootMoves = new MoveList();
+        LegalMoveGenerator.generateLegalMoves(game.getBoard(), game.getTeamTurn(), game.getState(), rootMoves);
+
+        long nodes = 0;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            game.makeMove(move);
+            long moveNodes = count(game, depth - 1, 0);
+            game.unmakeMove();
+            divide.put(LongAlgebraic.format(move), moveNodes);
+            nodes += moveNodes;
+        }
+        return new PerftResult(depth, nodes, divide, System.nanoTime() - start);
+    }
+
+    /**
+     * Count leaf positions below each root move, with the root moves spread across a fork/join pool. Each
+     * root move is counted on its own copy of the game by its own Perft instance.
+     * @param game game to count from. Only read.
+     * @param depth number of plies, at least 1
+     * @param pool pool to run the root moves on
+     * @return total count, per-move counts and timing
+     * @throws IllegalArgumentException if depth is below 1
+     */
+    public static PerftResult divideParallel(ChessGame game, int depth, ForkJoinPool pool) {
+        requireRootMoves(depth);
+        long start = System.nanoTime();
+        List<RootMoveSplitter.RootResult<Long>> results =
+                RootMoveSplitter.split(pool, game, (child, move) -> new Perft(depth).count(child, depth - 1));
+
+        Map<String, Long> divide = new LinkedHashMap<>();
+        long nodes = 0;
+        for (RootMoveSplitter.RootResult<Long> result : results) {
+            divide.put(LongAlgebraic.format(result.move()), result.result());
+            nodes += result.result();
+        }
+        return new PerftResult(depth, nodes, divide, System.nanoTime() - start);
+    }
+
+    private static void requireRootMoves(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1, got " + depth);
+        }
+    }
+
+    /**
+     * Print a divide report for a depth and position given on the command line
+     * @param args depth, then an optional FEN string (the standard start position if left out), then an
+     *             optional {@code --threads N}
+     */
+    public static void main(String[] args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int threads = 1;
+        int threadsAt = argList.indexOf("--threads");
+        if (threadsAt >= 0 && threadsAt + 1 < argList.size()) {
+            threads = Integer.parseInt(argList.get(threadsAt + 1));
+            argList.subList(threadsAt, threadsAt + 2).clear();
+        }
+        if (argList.isEmpty()) {
+            System.out.println("Usage: Perft <depth> [fen] [--threads N]");
+            return;
+        }
+        int depth = Integer.parseInt(argList.get(0));
+        String fen = (argList.size() > 1) ? String.join(" ", argList.subList(1, argList.size())) :
+                Fen.START_POSITION;
+
+        new Perft(depth).count(Fen.toGame(fen), Math.min(depth, 3)); // Build attack tables and warm up the JIT
+        PerftResult result = new Perft(depth).divide(Fen.toGame(fen), depth);
+        result.divide().forEach((move, nodes) -> System.out.println(move + ": " + nodes));
+        System.out.println();
+        printTotals("Sequential", result);
+
+        if (threads > 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                PerftResult parallel = divideParallel(Fen.toGame(fen), depth, pool);
+                printTotals("Parallel (" + threads + " threads)", parallel);
+                double speedup = parallel.speedupOver(result);
+                System.out.printf("Speedup: %.2fx, efficiency: %.0f%%%n", speedup, 100 * speedup / threads);
+                if (parallel.nodes() != result.nodes()) {
+                    System.out.println("Parallel count does not match the sequential count");
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void printTotals(String label, PerftResult result) {
+        System.out.println(label + ":");
+        System.out.println("  Nodes: " + result.nodes());
+        System.out.printf("  Time: %.3f s%n", result.elapsedNanos() / 1e9);
+        System.out.println("  Nodes/second: " + result.nodesPerSecond());
+    }
+}
@@ -0,0 +1,29 @@
+package chess.perft;
+
+import java.util.Map;
+
+/**
+ * Outcome of a perft run.
+ *
+ * @param depth number of plies searched
+ * @param nodes number of leaf positions reached
+ * @param divide leaf count below each root move, keyed by the move in long algebraic notation
+ * @param elapsedNanos wall clock time the run took
+ */
+public record PerftResult(int depth, long nodes, Map<String, Long> divide, long elapsedNanos) {
+
+    /**
+     * @return leaf positions reached per second of wall clock time
+     */
+    public long nodesPerSecond() {
+        return (elapsedNanos == 0) ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * @param baseline run of the same perft to compare against, usually the sequential one
+     * @return how many times faster this run was than the baseline
+     */
+    public double speedupOver(PerftResult baseline) {
+        return (elapsedNanos == 0) ? 0.0 : (double) baseline.elapsedNanos / elapsedNanos;
+    }
+}
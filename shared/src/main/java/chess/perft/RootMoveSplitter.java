@@ -0,0 +1,80 @@
+package chess.perft;
+
+import chess.ChessGame;
+import chess.moves.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits work across the legal root moves of a position and runs each move on a fork/join pool.
+ * <p>
+ *     Every task makes its root move on a private copy of the game, so tasks share nothing and the original
+ *     game is only read. Results come back in the order the root moves were generated.
+ * </p>
+ */
+public final class RootMoveSplitter {
+
+    private RootMoveSplitter() {}
+
+    /**
+     * Work done below one root move
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface RootMoveTask<R> {
+        /**
+         * @param child private copy of the game with the root move already made
+         * @param move packed root move
+         * @return result for this root move
+         */
+        R evaluate(ChessGame child, int move);
+    }
+
+    /**
+     * A root move paired with what its task returned
+     * @param move packed root move
+     * @param result task result
+     * @param <R> result type
+     */
+    public record RootResult<R>(int move, R result) {}
+
+    /**
+     * Run a task below every legal root move in parallel
+     * @param pool pool to run the tasks on
+     * @param game game to split. Must not be changed until this returns.
+     * @param task work to do below each root move
+     * @return one result per legal root move, in generation order
+     */
+    public static <R> List<RootResult<R>> split(ForkJoinPool pool, ChessGame game, RootMoveTask<R> task) {
+        MoveList rootMoves = game.legalMoves(new MoveList());
+        List<RecursiveTask<R>> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected R compute() {
+                    ChessGame child = game.copy();
+                    child.makeMove(move);
+                    return task.evaluate(child, move);
+                }
+            });
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        List<RootResult<R>> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            results.add(new RootResult<>(rootMoves.get(i), tasks.get(i).join()));
+        }
+        return results;
+    }
+}
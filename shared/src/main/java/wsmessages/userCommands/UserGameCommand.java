@@ -1,5 +1,7 @@
 package wsmessages.userCommands;
 
+import com.google.gson.Gson;
+
 import java.util.Objects;
 
 /**
@@ -34,6 +36,32 @@ public class UserGameCommand {
         return this.commandType;
     }
 
+    /**
+     * Read a command sent over a websocket as the command class its type calls for
+     * @param message command as JSON
+     * @return JoinPlayer, JoinObserver, Leave, MakeMove or Resign command
+     */
+    public static UserGameCommand decode(String message) {
+        return decode(message, new Gson());
+    }
+
+    /**
+     * Read a command sent over a websocket as the command class its type calls for, with a given Gson
+     * @param message command as JSON
+     * @param gson Gson to parse with
+     * @return JoinPlayer, JoinObserver, Leave, MakeMove or Resign command
+     */
+    public static UserGameCommand decode(String message, Gson gson) {
+        UserGameCommand action = gson.fromJson(message, UserGameCommand.class); // Read the type first
+        return switch (action.getCommandType()) {
+            case JOIN_PLAYER -> gson.fromJson(message, JoinPlayer.class);
+            case JOIN_OBSERVER -> gson.fromJson(message, JoinObserver.class);
+            case LEAVE -> gson.fromJson(message, Leave.class);
+            case MAKE_MOVE -> gson.fromJson(message, MakeMove.class);
+            case RESIGN -> gson.fromJson(message, Resign.class);
+        };
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,68 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.engine.Evaluator;
+import chess.moves.MoveList;
+import chess.notation.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EvaluatorTests {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    @DisplayName("Incremental score matches a full recount after every move and take back")
+    public void incrementalMatchesFromScratch() {
+        // Castling, en passant, promotions and captures all show up within three plies of these positions
+        for (String fen : new String[]{Fen.START_POSITION, KIWIPETE,
+                "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"}) {
+            ChessGame game = Fen.toGame(fen);
+            walk(game, 3);
+            assertConsistent(game);
+            assertConsistent(game.copy());
+        }
+    }
+
+    @Test
+    @DisplayName("Mirrored positions score the same for the team to move")
+    public void symmetric() {
+        Assertions.assertEquals(0, Evaluator.evaluate(new ChessGame().getBoard(), ChessGame.TeamColor.WHITE));
+
+        ChessGame white = Fen.toGame("4k3/8/8/8/3N4/8/PPP5/4K3 w - - 0 1");
+        ChessGame black = Fen.toGame("4k3/ppp5/8/3n4/8/8/8/4K3 b - - 0 1");
+        Assertions.assertEquals(Evaluator.evaluate(white.getBoard(), ChessGame.TeamColor.WHITE),
+                Evaluator.evaluate(black.getBoard(), ChessGame.TeamColor.BLACK));
+        Assertions.assertTrue(Evaluator.evaluate(white.getBoard(), ChessGame.TeamColor.WHITE) > 0);
+    }
+
+    @Test
+    @DisplayName("Piece-square bonuses prefer central knights")
+    public void centralKnight() {
+        ChessGame center = Fen.toGame("4k3/8/8/8/3N4/8/8/4K3 w - - 0 1");
+        ChessGame corner = Fen.toGame("4k3/8/8/8/8/8/8/N3K3 w - - 0 1");
+        Assertions.assertTrue(Evaluator.evaluate(center.getBoard(), ChessGame.TeamColor.WHITE) >
+                Evaluator.evaluate(corner.getBoard(), ChessGame.TeamColor.WHITE));
+    }
+
+    private static void walk(ChessGame game, int depth) {
+        assertConsistent(game);
+        if (depth == 0) {
+            return;
+        }
+        MoveList moves = game.legalMoves(new MoveList());
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            walk(game, depth - 1);
+            game.unmakeMove();
+        }
+    }
+
+    private static void assertConsistent(ChessGame game) {
+        for (ChessGame.TeamColor team : ChessGame.TeamColor.values()) {
+            Assertions.assertEquals(Evaluator.evaluateFromScratch(game.getBoard(), team),
+                    Evaluator.evaluate(game.getBoard(), team), Fen.fromGame(game));
+        }
+    }
+}
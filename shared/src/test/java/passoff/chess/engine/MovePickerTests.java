@@ -0,0 +1,76 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.bitboard.Bitboards;
+import chess.engine.MovePicker;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.moves.Move;
+import chess.moves.MoveList;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class MovePickerTests {
+
+    // White can take the queen with a pawn or the rook, or the knight with the queen, which the queen defends
+    private static final String CAPTURES = "4k3/8/8/2q1n3/1P6/8/8/2R1QK2 w - - 0 1";
+
+    @Test
+    @DisplayName("Hash move, captures by MVV-LVA, killers, quiets by history, then losing captures")
+    public void stagedOrder() {
+        ChessGame game = Fen.toGame(CAPTURES);
+        MoveList moves = game.legalMoves(new MoveList());
+        int hashMove = LongAlgebraic.parse(game, "e1e2");
+        int killer = LongAlgebraic.parse(game, "f1g2");
+        int[] history = new int[Bitboards.NUM_SQUARES * Bitboards.NUM_SQUARES];
+        int favourite = LongAlgebraic.parse(game, "c1a1");
+        history[Move.from(favourite) * Bitboards.NUM_SQUARES + Move.to(favourite)] = 100;
+
+        MovePicker picker = new MovePicker();
+        picker.reset(moves, game.getBoard(), hashMove, killer, Move.NONE, history);
+        List<String> order = new ArrayList<>();
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            order.add(LongAlgebraic.format(move));
+        }
+
+        Assertions.assertEquals(List.of("e1e2", "b4c5", "c1c5", "f1g2", "c1a1"), order.subList(0, 5));
+        Assertions.assertEquals("e1e5", order.get(order.size() - 1)); // The queen would be lost for the knight
+        Assertions.assertEquals(moves.size(), order.size());
+        Assertions.assertEquals(order.size(), new HashSet<>(order).size(), "A move was handed out twice");
+    }
+
+    @Test
+    @DisplayName("Moves missing from the list are skipped")
+    public void staleHashAndKillerMoves() {
+        ChessGame game = new ChessGame();
+        MoveList moves = game.legalMoves(new MoveList());
+        int stale = Move.of(Bitboards.square(4, 4), Bitboards.square(5, 4), 0);
+        MovePicker picker = new MovePicker();
+        picker.reset(moves, game.getBoard(), stale, stale, Move.NONE,
+                new int[Bitboards.NUM_SQUARES * Bitboards.NUM_SQUARES]);
+        int count = 0;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            Assertions.assertNotEquals(stale, move);
+            count++;
+        }
+        Assertions.assertEquals(20, count);
+    }
+
+    @Test
+    @DisplayName("Most cutoffs come from the first move searched")
+    public void firstMoveCutoffRate() {
+        Search search = new Search();
+        search.search(Fen.toGame("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+                SearchLimits.depth(5));
+        Assertions.assertTrue(search.getStatistics().getCutoffs() > 0);
+        Assertions.assertTrue(search.getStatistics().getFirstMoveCutoffRate() > 0.8,
+                search.getStatistics().toString());
+    }
+}
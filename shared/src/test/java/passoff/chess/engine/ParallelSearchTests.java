@@ -0,0 +1,49 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import chess.notation.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ParallelSearchTests {
+
+    @Test
+    @DisplayName("Several threads agree on a forced mate")
+    public void findsMateWithHelpers() {
+        ChessGame game = Fen.toGame("6k1/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 4);
+        SearchResult result = search.search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(2, result.mateInMoves());
+        Assertions.assertEquals(4, search.getThreads());
+    }
+
+    @Test
+    @DisplayName("Helpers stop with the main search and the game is left untouched")
+    public void helpersStopWithMainSearch() {
+        ChessGame game = Fen.toGame("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        String fen = Fen.fromGame(game);
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 3);
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            SearchResult result = search.search(game, SearchLimits.moveTime(100));
+            Assertions.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+            ChessMove best = result.bestChessMove();
+            Assertions.assertTrue(game.validMoves(best.getStartPosition()).contains(best));
+            Assertions.assertTrue(result.depth() >= 1);
+        }
+        Assertions.assertEquals(fen, Fen.fromGame(game));
+    }
+
+    @Test
+    @DisplayName("Thread count is checked")
+    public void rejectsBadThreadCount() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSearch(new TranspositionTable(1), 0));
+    }
+}
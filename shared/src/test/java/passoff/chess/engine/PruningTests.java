@@ -0,0 +1,38 @@
+package passoff.chess.engine;
+
+import chess.engine.PruningOptions;
+import chess.engine.SearchSuite;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class PruningTests {
+
+    private static final int DEPTH = 5;
+
+    @Test
+    @DisplayName("Each kind of pruning searches fewer nodes to the same depth")
+    public void eachPruningSavesNodes() {
+        SearchSuite.SuiteResult baseline = SearchSuite.run(PruningOptions.NONE, DEPTH);
+        for (Map.Entry<String, PruningOptions> configuration : SearchSuite.configurations().entrySet()) {
+            if (configuration.getValue().equals(PruningOptions.NONE)) {
+                continue;
+            }
+            SearchSuite.SuiteResult result = SearchSuite.run(configuration.getValue(), DEPTH);
+            Assertions.assertTrue(result.nodes() < baseline.nodes(), configuration.getKey() + ": " + result);
+        }
+    }
+
+    @Test
+    @DisplayName("With every kind of pruning the search goes deeper for fewer nodes and solves as much")
+    public void allPruning() {
+        SearchSuite.SuiteResult baseline = SearchSuite.run(PruningOptions.NONE, DEPTH);
+        SearchSuite.SuiteResult sameDepth = SearchSuite.run(PruningOptions.ALL, DEPTH);
+        SearchSuite.SuiteResult deeper = SearchSuite.run(PruningOptions.ALL, DEPTH + 2);
+        Assertions.assertTrue(sameDepth.nodes() * 4 < baseline.nodes(), sameDepth + " against " + baseline);
+        Assertions.assertTrue(deeper.nodes() < baseline.nodes(), deeper + " against " + baseline);
+        Assertions.assertTrue(deeper.solved() >= baseline.solved(), deeper + " against " + baseline);
+    }
+}
@@ -0,0 +1,115 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.engine.PruningOptions;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.SearchStatistics;
+import chess.engine.SearchSuite;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SearchTests {
+
+    @Test
+    @DisplayName("Finds a back rank mate in one")
+    public void mateInOne() {
+        ChessGame game = Fen.toGame("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        SearchResult result = new Search().search(game, SearchLimits.depth(3));
+        Assertions.assertEquals("a1a8", LongAlgebraic.format(result.bestMove()));
+        Assertions.assertEquals(1, result.mateInMoves());
+    }
+
+    @Test
+    @DisplayName("Finds a mate in two")
+    public void mateInTwo() {
+        ChessGame game = Fen.toGame("6k1/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(2, result.mateInMoves());
+        Assertions.assertEquals(3, result.principalVariation().length); // Move, reply, mate
+    }
+
+    @Test
+    @DisplayName("Takes a hanging queen and leaves the game untouched")
+    public void winsMaterial() {
+        String fen = "4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1";
+        ChessGame game = Fen.toGame(fen);
+        SearchResult result = new Search().search(game, SearchLimits.depth(3));
+        Assertions.assertEquals("d2d5", LongAlgebraic.format(result.bestMove()));
+        Assertions.assertTrue(result.score() > 0);
+        Assertions.assertEquals(fen, Fen.fromGame(game));
+    }
+
+    @Test
+    @DisplayName("Stops when asked from another thread")
+    public void stopsWhenCancelled() throws InterruptedException {
+        Search search = new Search();
+        SearchResult[] result = new SearchResult[1];
+        Thread thread = new Thread(() -> result[0] = search.search(new ChessGame(), SearchLimits.infinite()));
+        thread.start();
+        Thread.sleep(100);
+        search.stop();
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive(), "Search did not stop");
+        Assertions.assertTrue(result[0].depth() >= 1);
+        Assertions.assertNotNull(result[0].bestChessMove());
+    }
+
+    @Test
+    @DisplayName("Respects a time limit")
+    public void respectsMoveTime() {
+        new ChessGame().legalMoves(); // Load the attack tables before the clock starts
+        long start = System.nanoTime();
+        SearchResult result = new Search().search(new ChessGame(), SearchLimits.moveTime(200));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertTrue(elapsedMillis < 1000, "Search ran for " + elapsedMillis + " ms");
+        Assertions.assertTrue(result.depth() >= 2);
+    }
+
+    @Test
+    @DisplayName("A move time too long to add to the clock means no time limit")
+    public void hugeMoveTime() {
+        SearchLimits limits = new SearchLimits(4, Long.MAX_VALUE / 2, SearchLimits.NO_NODE_LIMIT);
+        long start = System.nanoTime();
+        Assertions.assertTrue(limits.deadlineNanos(start) > start, "Deadline wrapped into the past");
+        Assertions.assertEquals(4, new Search().search(new ChessGame(), limits).depth());
+    }
+
+    @Test
+    @DisplayName("Null and narrow windows find the same move and score as a full window")
+    public void windowsKeepResult() {
+        for (SearchSuite.SuitePosition position : SearchSuite.POSITIONS) {
+            Search fullWindow = new Search();
+            fullWindow.setPruning(PruningOptions.NONE);
+            fullWindow.setAspirationWindow(0);
+            SearchResult expected = fullWindow.search(Fen.toGame(position.fen()), SearchLimits.depth(5));
+
+            Search narrowWindow = new Search();
+            narrowWindow.setPruning(PruningOptions.NONE);
+            narrowWindow.setAspirationWindow(10);
+            SearchResult actual = narrowWindow.search(Fen.toGame(position.fen()), SearchLimits.depth(5));
+            Assertions.assertEquals(expected.score(), actual.score(), position.name());
+            Assertions.assertEquals(LongAlgebraic.format(expected.bestMove()),
+                    LongAlgebraic.format(actual.bestMove()), position.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Counts re-searches when a null or narrow window guesses wrong")
+    public void countsReSearches() {
+        Search search = new Search();
+        search.setAspirationWindow(10);
+        ChessGame game = Fen.toGame(SearchSuite.POSITIONS.get(0).fen()); // A queen sacrifice raises the score
+        search.search(game, SearchLimits.depth(6));
+        SearchStatistics statistics = search.getStatistics();
+        Assertions.assertTrue(statistics.getPvsReSearches() > 0, statistics.toString());
+        Assertions.assertTrue(statistics.getPvsReSearchRate() < 0.1, statistics.toString());
+        Assertions.assertEquals(3, statistics.getAspirationSearches(), statistics.toString());
+        Assertions.assertTrue(statistics.getAspirationFailHighs() > 0, statistics.toString());
+        Assertions.assertTrue(statistics.getAspirationReSearchRate() > 0, statistics.toString());
+    }
+}
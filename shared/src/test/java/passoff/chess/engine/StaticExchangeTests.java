@@ -0,0 +1,59 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.StaticExchange;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StaticExchangeTests {
+
+    @Test
+    @DisplayName("Free and winning captures")
+    public void winningCaptures() {
+        Assertions.assertEquals(500, see("1k1r4/8/8/8/8/8/8/1K1R4 w - - 0 1", "d1d8"));
+        // Pawn takes a defended knight: wins the knight, loses the pawn
+        Assertions.assertEquals(220, see("4k3/8/4p3/3n4/4P3/8/8/4K3 w - - 0 1", "e4d5"));
+    }
+
+    @Test
+    @DisplayName("Losing captures come out negative")
+    public void losingCaptures() {
+        // Queen takes a pawn defended by a pawn
+        Assertions.assertEquals(-800, see("4k3/8/3p4/4p3/8/8/8/4QK2 w - - 0 1", "e1e5"));
+        // Rook takes a knight defended by a bishop, with nothing to follow up
+        Assertions.assertEquals(-180, see("4k3/8/5b2/8/3n4/8/8/3RK3 w - - 0 1", "d1d4"));
+    }
+
+    @Test
+    @DisplayName("Pieces lined up behind the first attacker join the exchange")
+    public void xRays() {
+        // Doubled rooks against one defender: RxN, RxR, RxR wins a knight and a rook for a rook
+        Assertions.assertEquals(320, see("3r2k1/8/8/3n4/8/8/3R4/3RK3 w - - 0 1", "d2d5"));
+        // The same capture without the second rook loses the rook for the knight
+        Assertions.assertEquals(-180, see("3r2k1/8/8/3n4/8/8/3R4/4K3 w - - 0 1", "d2d5"));
+    }
+
+    @Test
+    @DisplayName("Quiescence keeps a shallow search from grabbing a defended pawn")
+    public void quiescenceSeesRecapture() {
+        ChessGame game = Fen.toGame("4k3/8/3p4/4p3/8/8/8/4QK2 w - - 0 1");
+        SearchResult result = new Search().search(game, SearchLimits.depth(1));
+        Assertions.assertNotEquals("e1e5", LongAlgebraic.format(result.bestMove()));
+    }
+
+    private final int[] gains = new int[StaticExchange.MAX_EXCHANGE]; // Reused like a search reuses it
+
+    private int see(String fen, String move) {
+        ChessGame game = Fen.toGame(fen);
+        int packed = LongAlgebraic.parse(game, move);
+        int score = StaticExchange.evaluate(game.getBoard(), packed, gains);
+        Assertions.assertEquals(StaticExchange.evaluate(game.getBoard(), packed), score);
+        return score;
+    }
+}
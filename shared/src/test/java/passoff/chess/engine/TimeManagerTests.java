@@ -0,0 +1,102 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TimeManager;
+import chess.moves.Move;
+import chess.notation.LongAlgebraic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class TimeManagerTests {
+
+    @Test
+    @DisplayName("Budgets a share of the clock plus most of the increment")
+    public void budgetsFromClock() {
+        TimeManager suddenDeath = TimeManager.forClock(60_050, 1000, 0, false);
+        Assertions.assertEquals(60_000 / TimeManager.DEFAULT_MOVES_TO_GO + 750, suddenDeath.getOptimumMillis());
+        Assertions.assertTrue(suddenDeath.getMaximumMillis() > suddenDeath.getOptimumMillis());
+        Assertions.assertTrue(suddenDeath.getMaximumMillis() <= 30_000);
+
+        TimeManager lastMove = TimeManager.forClock(1050, 0, 1, false);
+        Assertions.assertEquals(1000, lastMove.getOptimumMillis());
+        Assertions.assertEquals(1000, lastMove.getMaximumMillis());
+
+        TimeManager flagging = TimeManager.forClock(10, 0, 0, false);
+        Assertions.assertEquals(1, flagging.getMaximumMillis());
+    }
+
+    @Test
+    @DisplayName("Spends longer while the best move keeps changing and less once it settles")
+    public void adaptsToStability() {
+        ChessGame game = new ChessGame();
+        int e4 = LongAlgebraic.parse(game, "e2e4");
+        int d4 = LongAlgebraic.parse(game, "d2d4");
+
+        TimeManager unstable = TimeManager.forClock(30_050, 0, 0, false);
+        for (int depth = 1; depth <= 6; depth++) {
+            unstable.recordIteration(iteration(depth % 2 == 0 ? e4 : d4, 0, depth));
+        }
+        Assertions.assertTrue(unstable.softLimitMillis() > unstable.getOptimumMillis());
+
+        TimeManager stable = TimeManager.forClock(30_050, 0, 0, false);
+        for (int depth = 1; depth <= 6; depth++) {
+            stable.recordIteration(iteration(e4, 0, depth));
+        }
+        Assertions.assertTrue(stable.softLimitMillis() < stable.getOptimumMillis());
+
+        TimeManager dropping = TimeManager.forClock(30_050, 0, 0, false);
+        dropping.recordIteration(iteration(e4, 50, 1));
+        dropping.recordIteration(iteration(e4, -50, 2));
+        Assertions.assertTrue(dropping.softLimitMillis() > dropping.getOptimumMillis());
+    }
+
+    @Test
+    @DisplayName("Keeps no time while pondering")
+    public void pondering() {
+        TimeManager manager = TimeManager.forMoveTime(1, true);
+        manager.recordIteration(iteration(Move.NONE, 0, 1));
+        Assertions.assertFalse(manager.hardLimitReached());
+        Assertions.assertFalse(manager.shouldStop());
+        manager.ponderHit();
+        Assertions.assertFalse(manager.shouldStop(), "A fixed move time is used in full");
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            while (!manager.hardLimitReached()) {
+                Thread.onSpinWait();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("A move time too long to add to the clock never runs out")
+    public void hugeMoveTime() {
+        Assertions.assertFalse(TimeManager.forMoveTime(Long.MAX_VALUE / 2, false).hardLimitReached());
+        TimeManager pondering = TimeManager.forMoveTime(Long.MAX_VALUE, true);
+        pondering.ponderHit();
+        Assertions.assertFalse(pondering.hardLimitReached());
+    }
+
+    @Test
+    @DisplayName("A search on the clock stops at the hard limit")
+    public void searchStopsOnTime() {
+        new ChessGame().legalMoves(); // Load the attack tables before the clock starts
+        Search search = new Search();
+        TimeManager manager = TimeManager.forClock(1050, 0, 1, false);
+        search.setTimeManager(manager);
+        long start = System.nanoTime();
+        SearchResult result = search.search(new ChessGame(), SearchLimits.infinite());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertTrue(elapsedMillis < manager.getMaximumMillis() + 200, "Search ran for " + elapsedMillis);
+        Assertions.assertTrue(result.depth() >= 2);
+        Assertions.assertNotNull(result.bestChessMove());
+    }
+
+    private static SearchResult iteration(int bestMove, int score, int depth) {
+        return new SearchResult(bestMove, score, depth, new int[] {bestMove}, 0, 0);
+    }
+}
@@ -0,0 +1,83 @@
+package passoff.chess.engine;
+
+import chess.ChessGame;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import chess.moves.Move;
+import chess.notation.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Entries round trip through the packed layout")
+    public void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        Assertions.assertEquals(1, Integer.bitCount(table.capacity())); // Power of two entries
+        Assertions.assertEquals(1024 * 1024 / 16, table.capacity());
+
+        long key = 0x1234_5678_9ABC_DEF0L;
+        int move = Move.of(12, 28, Move.FLAG_DOUBLE_PAWN_PUSH);
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(key));
+
+        table.store(key, move, -29990, 7, TranspositionTable.BOUND_LOWER);
+        long entry = table.probe(key);
+        Assertions.assertEquals(move, TranspositionTable.move(entry));
+        Assertions.assertEquals(-29990, TranspositionTable.score(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(entry));
+
+        table.store(key, Move.NONE, 15, 8, TranspositionTable.BOUND_UPPER);
+        Assertions.assertEquals(move, TranspositionTable.move(table.probe(key))); // Best move kept
+    }
+
+    @Test
+    @DisplayName("Deeper entries survive within a search but give way to newer searches")
+    public void replacementPolicy() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 42L << 32;
+        long other = key ^ 1; // Same slot, different position
+        table.store(key, Move.NONE, 100, 10, TranspositionTable.BOUND_LOWER);
+
+        table.store(other, Move.NONE, 50, 2, TranspositionTable.BOUND_UPPER);
+        Assertions.assertNotEquals(TranspositionTable.MISS, table.probe(key));
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(other));
+
+        table.newSearch();
+        table.store(other, Move.NONE, 50, 2, TranspositionTable.BOUND_UPPER);
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(key));
+        Assertions.assertEquals(50, TranspositionTable.score(table.probe(other)));
+
+        table.clear();
+        Assertions.assertEquals(TranspositionTable.MISS, table.probe(other));
+    }
+
+    @Test
+    @DisplayName("A shared table makes a repeated search cheaper without changing its answer")
+    public void searchReusesTable() {
+        ChessGame game = Fen.toGame("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        TranspositionTable table = new TranspositionTable(4);
+        SearchResult first = new Search(table).search(game, SearchLimits.depth(4));
+        Search secondSearch = new Search(table);
+        SearchResult second = secondSearch.search(game, SearchLimits.depth(4));
+
+        Assertions.assertTrue(secondSearch.getStatistics().getTableHits() > 0);
+        Assertions.assertTrue(secondSearch.getStatistics().getTableHitRate() <= 1.0);
+        Assertions.assertTrue(second.nodes() < first.nodes());
+        Assertions.assertEquals(first.score(), second.score());
+    }
+
+    @Test
+    @DisplayName("Mate scores stay correct when read back at a different ply")
+    public void mateScoresThroughTable() {
+        ChessGame game = Fen.toGame("6k1/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        TranspositionTable table = new TranspositionTable(4);
+        new Search(table).search(game, SearchLimits.depth(4));
+        SearchResult result = new Search(table).search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(2, result.mateInMoves());
+    }
+}
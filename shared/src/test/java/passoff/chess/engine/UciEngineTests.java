@@ -0,0 +1,131 @@
+package passoff.chess.engine;
+
+import chess.engine.uci.GoCommand;
+import chess.engine.uci.UciEngine;
+import chess.notation.Fen;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class UciEngineTests {
+
+    private ByteArrayOutputStream output;
+    private UciEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        engine = new UciEngine(new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.quit();
+    }
+
+    @Test
+    @DisplayName("Identifies itself and lists its options")
+    public void handshake() {
+        engine.handle("uci");
+        engine.handle("isready");
+        List<String> lines = lines();
+        Assertions.assertTrue(lines.get(0).startsWith("id name "));
+        Assertions.assertTrue(lines.contains("option name Hash type spin default 16 min 1 max 4096"),
+                lines.toString());
+        Assertions.assertTrue(lines.stream().anyMatch(line -> line.startsWith("option name Threads ")));
+        Assertions.assertEquals(List.of("uciok", "readyok"), lines.subList(lines.size() - 2, lines.size()));
+    }
+
+    @Test
+    @DisplayName("Sets up positions from startpos or FEN with moves played after")
+    public void position() {
+        engine.handle("position startpos moves e2e4 c7c5 g1f3");
+        Assertions.assertEquals("rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 1",
+                Fen.fromGame(engine.getGame()));
+
+        engine.handle("position fen 4k3/8/8/8/8/8/4P3/4K3 w - - 0 1 moves e2e4");
+        Assertions.assertEquals("4k3/8/8/8/4P3/8/8/4K3 b - - 0 1", Fen.fromGame(engine.getGame()));
+
+        engine.handle("position startpos moves e2e5");
+        Assertions.assertTrue(lines().contains("info string Illegal move in position: e2e5"));
+    }
+
+    @Test
+    @DisplayName("Reports each iteration and then the best move")
+    public void searchesToDepth() throws InterruptedException {
+        engine.handle("setoption name Threads value 2");
+        engine.handle("setoption name Hash value 1");
+        engine.handle("position fen 6k1/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        engine.handle("go depth 4");
+        String bestMove = awaitBestMove();
+
+        List<String> info = lines().stream().filter(line -> line.startsWith("info depth")).toList();
+        Assertions.assertFalse(info.isEmpty());
+        String last = info.get(info.size() - 1);
+        Assertions.assertTrue(last.matches("info depth \\d+ score mate 2 nodes \\d+ nps \\d+ time \\d+ " +
+                "hashfull \\d+ pv( [a-h][1-8][a-h][1-8])+"), last);
+        Assertions.assertTrue(bestMove.matches("bestmove [a-h][1-8][a-h][1-8] ponder [a-h][1-8][a-h][1-8]"),
+                bestMove);
+    }
+
+    @Test
+    @DisplayName("Holds the best move of an infinite search until told to stop")
+    public void infiniteWaitsForStop() throws InterruptedException {
+        engine.handle("position fen 6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        engine.handle("go infinite");
+        Thread.sleep(300); // Mate in one is found at once, but the move has to wait
+        Assertions.assertTrue(lines().stream().noneMatch(line -> line.startsWith("bestmove")));
+        engine.handle("isready");
+        Assertions.assertTrue(lines().contains("readyok"));
+        engine.handle("stop");
+        Assertions.assertEquals("bestmove a1a8", awaitBestMove());
+    }
+
+    @Test
+    @DisplayName("Starts the clock on ponderhit and moves within the budget")
+    public void ponderHit() throws InterruptedException {
+        engine.handle("position startpos moves e2e4");
+        engine.handle("go ponder wtime 2000 btime 2000");
+        Thread.sleep(300);
+        Assertions.assertTrue(lines().stream().noneMatch(line -> line.startsWith("bestmove")));
+        long start = System.nanoTime();
+        engine.handle("ponderhit");
+        awaitBestMove();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertTrue(elapsedMillis < 1000, "Moved after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Reads every limit of a go command")
+    public void parsesGo() {
+        GoCommand command = GoCommand.parse(
+                "go wtime 60000 btime 55000 winc 1000 binc 500 movestogo 20 nodes 100000 depth 12".split(" "));
+        Assertions.assertEquals(new GoCommand(12, GoCommand.NOT_SET, 60000, 55000, 1000, 500, 20, 100000,
+                false, false), command);
+        Assertions.assertTrue(GoCommand.parse("go ponder movetime 500".split(" ")).ponder());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GoCommand.parse("go depth".split(" ")));
+    }
+
+    private List<String> lines() {
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private String awaitBestMove() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            for (String line : lines()) {
+                if (line.startsWith("bestmove")) {
+                    return line;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No best move in " + lines());
+    }
+}
@@ -2,8 +2,13 @@ package passoff.chess.game;
 
 import chess.ChessBoard;
 import chess.ChessGame;
+import chess.ChessMove;
 import chess.ChessPiece;
 import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.moves.MoveList;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -99,4 +104,183 @@ public class CustomTests {
         game.setTeamTurn(ChessGame.TeamColor.WHITE);
         Assertions.assertTrue(game.isInCheck(ChessGame.TeamColor.WHITE));
     }
+
+    @Test
+    @DisplayName("Factories hand out shared instances equal to constructed ones")
+    public void sharedInstances() {
+        ChessPosition position = ChessPosition.of(3, 4);
+        Assertions.assertSame(position, ChessPosition.of(3, 4));
+        Assertions.assertEquals(new ChessPosition(3, 4), position);
+        Assertions.assertSame(position, position.copy());
+
+        ChessPiece piece = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+        Assertions.assertSame(piece, ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT), piece);
+
+        ChessMove move = ChessMove.of(new ChessPosition(7, 2), new ChessPosition(8, 2), ChessPiece.PieceType.QUEEN);
+        Assertions.assertSame(move, ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2),
+                ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(new ChessMove(new ChessPosition(7, 2), new ChessPosition(8, 2),
+                ChessPiece.PieceType.QUEEN), move);
+        Assertions.assertNotEquals(ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2), null), move);
+
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertSame(board.getPiece(new ChessPosition(1, 1)), board.copy().getPiece(ChessPosition.of(1, 1)));
+    }
+
+    @Test
+    @DisplayName("Pieces and moves with missing fields can still be hashed")
+    public void hashMissingFields() {
+        Assertions.assertEquals(new ChessPiece(null, null).hashCode(), new ChessPiece(null, null).hashCode());
+        Assertions.assertEquals(new ChessMove(null, null).hashCode(), new ChessMove(null, null).hashCode());
+    }
+
+    @Test
+    @DisplayName("Status is worked out when a move is made")
+    public void statusAfterMove() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus());
+        Assertions.assertEquals(20, game.legalMoveCount());
+
+        game.makeMove(new ChessMove(new ChessPosition(2, 6), new ChessPosition(3, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(2, 7), new ChessPosition(4, 7), null));
+        Assertions.assertFalse(game.isGameOver());
+        game.makeMove(new ChessMove(new ChessPosition(8, 4), new ChessPosition(4, 8), null));
+
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus());
+        Assertions.assertEquals(0, game.legalMoveCount());
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertTrue(game.isGameOver());
+
+        game.setBoard(TestUtilities.defaultBoard()); // A new board starts a new game
+        Assertions.assertFalse(game.isGameOver());
+        Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus());
+        Assertions.assertEquals(20, game.legalMoveCount());
+    }
+
+    @Test
+    @DisplayName("Threefold repetition is a draw")
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus());
+            game.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+            game.makeMove(new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null));
+            game.makeMove(new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null));
+            game.makeMove(new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null));
+        }
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW, game.getStatus());
+        Assertions.assertTrue(game.isGameOver());
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Bulk legal move queries agree with each other")
+    public void bulkLegalMoves() {
+        ChessGame game = new ChessGame();
+        MoveList buffer = new MoveList();
+        Assertions.assertEquals(20, game.legalMoves().size());
+        Assertions.assertEquals(20, game.legalMoves(buffer).size());
+        Assertions.assertEquals(20, game.legalMoveCount());
+        Assertions.assertTrue(game.hasAnyLegalMove());
+
+        game.setBoard(TestUtilities.loadBoard("""
+                |k| | | | | | | |
+                | | |Q| | | | | |
+                | |K| | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                """));
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertFalse(game.hasAnyLegalMove());
+        Assertions.assertTrue(game.legalMoves().isEmpty());
+        Assertions.assertTrue(game.isInStalemate(ChessGame.TeamColor.BLACK));
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("A null move passes the turn and is taken back exactly")
+    public void nullMove() {
+        ChessGame game = Fen.toGame("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        String fen = Fen.fromGame(game);
+        long key = game.getZobristKey();
+
+        game.makeNullMove();
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertEquals("4k3/8/8/3pP3/8/8/8/4K3 b - - 1 1", Fen.fromGame(game)); // En passant is gone
+        Assertions.assertNotEquals(key, game.getZobristKey());
+
+        game.unmakeNullMove();
+        Assertions.assertEquals(fen, Fen.fromGame(game));
+        Assertions.assertEquals(key, game.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("Positions before a null move don't count as repeats")
+    public void nullMoveRepetition() {
+        ChessGame game = new ChessGame();
+        game.makeMove(LongAlgebraic.parse(game, "g1f3"));
+        game.makeNullMove();
+        game.makeMove(LongAlgebraic.parse(game, "f3g1"));
+        game.makeNullMove();
+        Assertions.assertFalse(game.isRepetitionOrFiftyMove(), "The start position was only reached by passing");
+        game.unmakeNullMove();
+        game.unmakeMove();
+        game.unmakeNullMove();
+
+        for (String move : new String[] {"g8f6", "f3g1", "f6g8"}) {
+            game.makeMove(LongAlgebraic.parse(game, move));
+        }
+        Assertions.assertTrue(game.isRepetitionOrFiftyMove());
+    }
+
+    @Test
+    @DisplayName("Making and unmaking every move two plies deep from kiwipete restores the position exactly")
+    public void makeUnmakeRoundTrip() {
+        ChessGame game = Fen.toGame("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertRoundTrips(game, 2);
+    }
+
+    /**
+     * Make and unmake every legal move down to the given depth, checking that each unmake puts back the board,
+     * its bitboards, keys and scores, and the game state exactly as they were
+     */
+    private static void assertRoundTrips(ChessGame game, int depth) {
+        ChessBoard board = game.getBoard();
+        ChessBoard before = board.copy();
+        ChessBoard fresh = Fen.toGame(Fen.fromGame(game)).getBoard(); // Derived fields built from scratch
+        int state = game.getState();
+        long key = game.getZobristKey();
+
+        MoveList moves = game.legalMoves(new MoveList());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            game.makeMove(move);
+            if (depth > 1) {
+                assertRoundTrips(game, depth - 1);
+            }
+            game.unmakeMove();
+
+            String context = "After unmaking " + LongAlgebraic.format(move) + " from " + Fen.fromGame(game);
+            Assertions.assertEquals(before, board, context);
+            Assertions.assertEquals(state, game.getState(), context);
+            Assertions.assertEquals(key, game.getZobristKey(), context);
+            Assertions.assertEquals(fresh.getZobristKey(), board.getZobristKey(), context);
+            Assertions.assertEquals(fresh.getMiddlegameScore(), board.getMiddlegameScore(), context);
+            Assertions.assertEquals(fresh.getEndgameScore(), board.getEndgameScore(), context);
+            Assertions.assertEquals(fresh.getPhase(), board.getPhase(), context);
+            Assertions.assertEquals(fresh.getOccupied(), board.getOccupied(), context);
+            for (ChessGame.TeamColor team : ChessGame.TeamColor.values()) {
+                Assertions.assertEquals(fresh.getTeamPieces(team), board.getTeamPieces(team), context);
+                for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                    Assertions.assertEquals(fresh.getPieces(team, type), board.getPieces(team, type), context);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package passoff.chess.game;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.engine.Evaluator;
+import chess.notation.Fen;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import java.util.Map;
+
+public class SerializationTests {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    @DisplayName("A board saves only where its pieces stand and loads back the same")
+    public void boardRoundTrip() {
+        ChessBoard board = TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | |p|P| | | |
+                | | | | | | | | |
+                | | |N| | | | | |
+                | | | | | | | | |
+                |R| | | |K| | | |
+                """);
+        String json = GSON.toJson(board);
+        Assertions.assertTrue(json.startsWith("{\"grid\":[[{\"color\":\"WHITE\",\"type\":\"ROOK\"},null,"), json);
+        Assertions.assertFalse(json.contains("occupied"), json);
+
+        ChessBoard loaded = GSON.fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(board, loaded);
+        Assertions.assertEquals(board.getOccupied(), loaded.getOccupied());
+        Assertions.assertEquals(board.getTeamPieces(ChessGame.TeamColor.BLACK),
+                loaded.getTeamPieces(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("A board saved as a grid of pieces by older versions still loads")
+    public void loadsLegacyGrid() {
+        ChessPiece[][] grid = new ChessPiece[8][8];
+        grid[0][4] = ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        grid[6][0] = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+        grid[7][4] = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING);
+        String json = GSON.toJson(Map.of("GRID_SIZE", 8, "grid", grid));
+
+        ChessBoard loaded = GSON.fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(3, Long.bitCount(loaded.getOccupied()));
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN),
+                loaded.getPiece(new ChessPosition(7, 1)));
+        Assertions.assertEquals(60, loaded.getKingSquare(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("A saved Zobrist key is ignored and worked out again on load")
+    public void recomputesKey() {
+        ChessBoard board = TestUtilities.defaultBoard();
+        int[] squares = new int[64];
+        for (int square = 0; square < squares.length; square++) {
+            squares[square] = board.getPieceCode(square);
+        }
+        String json = GSON.toJson(Map.of("squares", squares, "zobristKey", 12345L));
+
+        ChessBoard loaded = GSON.fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(board.getZobristKey(), loaded.getZobristKey());
+        Assertions.assertEquals(board, loaded);
+        Assertions.assertEquals(board.hashCode(), loaded.hashCode());
+    }
+
+    @Test
+    @DisplayName("Piece-square scores are worked out again on load from the current tables")
+    public void recomputesPieceSquareScores() {
+        ChessBoard board = Fen.toGame("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4")
+                .getBoard();
+        String json = GSON.toJson(Map.of("grid", gridOf(board), "middlegameScore", 999, "endgameScore", -999,
+                "phase", 0));
+
+        ChessBoard loaded = GSON.fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(board.getMiddlegameScore(), loaded.getMiddlegameScore());
+        Assertions.assertEquals(board.getEndgameScore(), loaded.getEndgameScore());
+        Assertions.assertEquals(board.getPhase(), loaded.getPhase());
+        Assertions.assertEquals(Evaluator.evaluateFromScratch(loaded, ChessGame.TeamColor.WHITE),
+                Evaluator.evaluate(loaded, ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("A saved game loads with the same board and state")
+    public void gameRoundTrip() {
+        ChessGame game = Fen.toGame("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 3 20");
+        ChessGame loaded = GSON.fromJson(GSON.toJson(game), ChessGame.class);
+        Assertions.assertEquals(Fen.fromGame(game), Fen.fromGame(loaded));
+        Assertions.assertEquals(game, loaded);
+        Assertions.assertEquals(game.getZobristKey(), loaded.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("A game saved with only the team to move loads with that team to move")
+    public void loadsLegacyTeamTurn() {
+        ChessPiece[][] grid = gridOf(TestUtilities.defaultBoard());
+        String json = GSON.toJson(Map.of("board", Map.of("grid", grid), "teamTurn", "BLACK",
+                "whiteKingLocation", new ChessPosition(1, 5), "gameOver", false));
+
+        ChessGame loaded = GSON.fromJson(json, ChessGame.class);
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, loaded.getTeamTurn());
+        Assertions.assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 0 1", Fen.fromGame(loaded));
+        Assertions.assertFalse(loaded.isGameOver());
+    }
+
+    @Test
+    @DisplayName("A game saved and loaded between every move still sees a threefold repetition")
+    public void repetitionSurvivesSaving() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove[] shuffle = {
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+                new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+                new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+                new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)
+        };
+        for (int i = 0; i < 2; i++) {
+            for (ChessMove move : shuffle) {
+                Assertions.assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus());
+                game = GSON.fromJson(GSON.toJson(game), ChessGame.class); // As the server does for every move
+                game.makeMove(move);
+            }
+        }
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW, game.getStatus());
+        Assertions.assertTrue(game.isGameOver());
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW,
+                GSON.fromJson(GSON.toJson(game), ChessGame.class).getStatus());
+    }
+
+    private static ChessPiece[][] gridOf(ChessBoard board) {
+        ChessPiece[][] grid = new ChessPiece[8][8];
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                grid[row - 1][col - 1] = board.getPiece(new ChessPosition(row, col));
+            }
+        }
+        return grid;
+    }
+}
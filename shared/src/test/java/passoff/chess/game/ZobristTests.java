@@ -0,0 +1,103 @@
+package passoff.chess.game;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.GameState;
+import chess.InvalidMoveException;
+import chess.notation.Fen;
+import chess.notation.LongAlgebraic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+public class ZobristTests {
+
+    @Test
+    @DisplayName("Same position reached by different move orders has the same key")
+    public void transpositionsShareKey() throws InvalidMoveException {
+        ChessGame knightsFirst = new ChessGame();
+        knightsFirst.makeMove(move(1, 7, 3, 6));
+        knightsFirst.makeMove(move(8, 7, 6, 6));
+        knightsFirst.makeMove(move(1, 2, 3, 3));
+
+        ChessGame otherOrder = new ChessGame();
+        otherOrder.makeMove(move(1, 2, 3, 3));
+        otherOrder.makeMove(move(8, 7, 6, 6));
+        otherOrder.makeMove(move(1, 7, 3, 6));
+
+        Assertions.assertEquals(knightsFirst.getZobristKey(), otherOrder.getZobristKey());
+        Assertions.assertEquals(knightsFirst, otherOrder);
+    }
+
+    @Test
+    @DisplayName("Key tracks the board and the team to move")
+    public void keyMatchesFreshPosition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        long startKey = game.getZobristKey();
+        game.makeMove(move(2, 5, 4, 5));
+        Assertions.assertNotEquals(startKey, game.getZobristKey());
+
+        ChessGame loaded = new ChessGame();
+        loaded.setBoard(TestUtilities.loadBoard("""
+                |r|n|b|q|k|b|n|r|
+                |p|p|p|p|p|p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |P| | | |
+                | | | | | | | | |
+                |P|P|P|P| |P|P|P|
+                |R|N|B|Q|K|B|N|R|
+                """));
+        Assertions.assertNotEquals(loaded.getZobristKey(), game.getZobristKey(), "Team to move ignored");
+        loaded.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(loaded.getZobristKey(), game.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("Castling rights and en passant change the key, and unmaking restores them")
+    public void stateFoldedIntoKey() {
+        ChessGame castling = Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        ChessGame noCastling = Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1");
+        Assertions.assertNotEquals(castling.getZobristKey(), noCastling.getZobristKey());
+        Assertions.assertNotEquals(castling, noCastling);
+
+        ChessGame enPassant = Fen.toGame("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        ChessGame noEnPassant = Fen.toGame("4k3/8/8/3pP3/8/8/8/4K3 w - - 0 1");
+        Assertions.assertNotEquals(enPassant.getZobristKey(), noEnPassant.getZobristKey());
+        Assertions.assertEquals(Fen.toGame("4k3/8/8/3p4/4P3/8/8/4K3 w - - 0 1"),
+                Fen.toGame("4k3/8/8/3p4/4P3/8/8/4K3 w - d6 0 1"),
+                "En passant square without a capturing pawn should be dropped");
+
+        long key = castling.getZobristKey();
+        int state = castling.getState();
+        castling.makeMove(LongAlgebraic.parse(castling, "e1g1"));
+        Assertions.assertEquals("r3k2r/8/8/8/8/8/8/R4RK1 b kq - 1 1", Fen.fromGame(castling));
+        castling.unmakeMove();
+        Assertions.assertEquals(key, castling.getZobristKey());
+        Assertions.assertEquals(state, castling.getState());
+
+        key = enPassant.getZobristKey();
+        enPassant.makeMove(LongAlgebraic.parse(enPassant, "e5d6"));
+        Assertions.assertEquals("4k3/8/3P4/8/8/8/8/4K3 b - - 0 1", Fen.fromGame(enPassant));
+        enPassant.unmakeMove();
+        Assertions.assertEquals(key, enPassant.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("A negative halfmove clock is rejected and can't spill into the rest of the state")
+    public void negativeHalfmoveClock() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - -1 1"));
+
+        int state = Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R b Kq - 0 1").getState();
+        int clamped = GameState.withHalfmoveClock(state, -1);
+        Assertions.assertEquals(0, GameState.halfmoveClock(clamped));
+        Assertions.assertEquals(GameState.positionBits(state), GameState.positionBits(clamped));
+    }
+
+    private static ChessMove move(int startRow, int startCol, int endRow, int endCol) {
+        return new ChessMove(new ChessPosition(startRow, startCol), new ChessPosition(endRow, endCol), null);
+    }
+}
@@ -0,0 +1,43 @@
+package passoff.chess.moves;
+
+import chess.ChessGame;
+import chess.ChessPosition;
+import chess.moves.LegalMoveCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LegalMoveCacheTests {
+
+    @Test
+    @DisplayName("Least recently used entry is dropped when full")
+    public void evictsLeastRecentlyUsed() {
+        LegalMoveCache cache = new LegalMoveCache(2);
+        cache.put(1L, 0, new int[]{10});
+        cache.put(2L, 0, new int[]{20});
+        Assertions.assertNotNull(cache.get(1L, 0)); // Key 2 is now the least recently used
+        cache.put(3L, 0, new int[]{30});
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get(2L, 0));
+        Assertions.assertArrayEquals(new int[]{10}, cache.get(1L, 0));
+        Assertions.assertArrayEquals(new int[]{30}, cache.get(3L, 0));
+        Assertions.assertNull(cache.get(3L, 1), "Square is part of the key");
+        Assertions.assertEquals(3, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Repeated validMoves calls are served from the cache")
+    public void validMovesHitsCache() {
+        ChessGame game = new ChessGame();
+        ChessPosition knight = new ChessPosition(1, 2);
+        var firstMoves = game.validMoves(knight);
+        long hits = ChessGame.getMoveCache().getHits();
+
+        var secondMoves = new ChessGame().validMoves(knight);
+        Assertions.assertEquals(firstMoves, secondMoves);
+        Assertions.assertNotSame(firstMoves, secondMoves);
+        Assertions.assertTrue(ChessGame.getMoveCache().getHits() > hits);
+    }
+}
@@ -0,0 +1,125 @@
+package passoff.chess.moves;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import chess.moves.MoveList;
+import chess.notation.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+public class MoveGeneratorTests {
+
+    private static final String MIDDLEGAME = """
+                |r| | |q|k| | |r|
+                |p|p| |n|b|p|p|p|
+                | | |p| |p|n| | |
+                | | | |p| |b| | |
+                | | |P|P| | | | |
+                | | |N| |P|N| | |
+                |P|P| | |B|P|P|P|
+                |R| | |Q|K| | |R|
+                """;
+
+    @Test
+    @DisplayName("Generating into a reused MoveList allocates nothing")
+    public void generationDoesNotAllocate() {
+        ChessBoard board = TestUtilities.loadBoard(MIDDLEGAME);
+        MoveList moves = new MoveList();
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // Warm up so class loading and compilation are not counted
+        for (int i = 0; i < 20_000; i++) {
+            moves.clear();
+            MoveGenerator.generateMoves(board, ChessGame.TeamColor.WHITE, moves);
+            MoveGenerator.generateMoves(board, ChessGame.TeamColor.BLACK, moves);
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            moves.clear();
+            MoveGenerator.generateMoves(board, ChessGame.TeamColor.WHITE, moves);
+            MoveGenerator.generateMoves(board, ChessGame.TeamColor.BLACK, moves);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // Allow a little slack for the measurement calls themselves
+        Assertions.assertTrue(allocated < 1024, "Move generation allocated " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("Packed moves convert to ChessMoves and back")
+    public void packedMovesRoundTrip() {
+        ChessBoard board = TestUtilities.loadBoard("""
+                | | | | |k| | | |
+                | | |P| | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |p| | |
+                | | | | |K| |N| |
+                """);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateMoves(board, ChessGame.TeamColor.WHITE, moves);
+        MoveGenerator.generateMoves(board, ChessGame.TeamColor.BLACK, moves);
+
+        var chessMoves = moves.toChessMoves();
+        Assertions.assertEquals(moves.size(), chessMoves.size(), "Duplicate moves generated");
+        for (ChessMove chessMove : chessMoves) {
+            int move = moves.find(chessMove);
+            Assertions.assertNotEquals(Move.NONE, move, "Move not found: " + chessMove);
+            Assertions.assertEquals(chessMove, Move.toChessMove(move));
+        }
+        Assertions.assertTrue(chessMoves.contains(new ChessMove(new ChessPosition(7, 3),
+                new ChessPosition(8, 3), ChessPiece.PieceType.KNIGHT)), "Missing promotion");
+    }
+
+    @Test
+    @DisplayName("Captures-only generation finds exactly the captures and promotions among the legal moves")
+    public void capturesMatchLegalMoves() {
+        String[] positions = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1"
+        };
+        for (String fen : positions) {
+            ChessGame root = Fen.toGame(fen);
+            MoveList rootMoves = root.legalMoves(new MoveList());
+            for (int i = 0; i < rootMoves.size(); i++) {
+                ChessGame game = root.copy();
+                game.makeMove(rootMoves.get(i));
+                assertCapturesMatch(game);
+            }
+        }
+    }
+
+    private static void assertCapturesMatch(ChessGame game) {
+        Set<Integer> expected = new HashSet<>();
+        MoveList legal = game.legalMoves(new MoveList());
+        for (int i = 0; i < legal.size(); i++) {
+            if (Move.isCapture(legal.get(i)) || Move.isPromotion(legal.get(i))) {
+                expected.add(legal.get(i));
+            }
+        }
+        Set<Integer> captures = new HashSet<>();
+        MoveList generated = game.legalCaptures(new MoveList());
+        for (int i = 0; i < generated.size(); i++) {
+            captures.add(generated.get(i));
+        }
+        Assertions.assertEquals(generated.size(), captures.size(), "Duplicate moves generated");
+        Assertions.assertEquals(expected, captures, Fen.fromGame(game));
+    }
+}
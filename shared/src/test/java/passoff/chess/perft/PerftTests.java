@@ -0,0 +1,112 @@
+package passoff.chess.perft;
+
+import chess.ChessGame;
+import chess.notation.Fen;
+import chess.perft.Perft;
+import chess.perft.PerftResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Leaf counts for standard perft positions, from the Chess Programming Wiki.
+ */
+public class PerftTests {
+
+    @ParameterizedTest(name = "depth {1}")
+    @DisplayName("Start position")
+    @CsvSource({
+            "'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 1, 20",
+            "'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 2, 400",
+            "'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 3, 8902",
+            "'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 4, 197281",
+    })
+    public void startPosition(String fen, int depth, long expected) {
+        assertPerft(fen, depth, expected);
+    }
+
+    @ParameterizedTest(name = "depth {1}")
+    @DisplayName("Rook and pawn endgame with pins and checks")
+    @CsvSource({
+            "'8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 1, 14",
+            "'8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 2, 191",
+            "'8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 3, 2812",
+            "'8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 4, 43238",
+    })
+    public void rookEndgame(String fen, int depth, long expected) {
+        assertPerft(fen, depth, expected);
+    }
+
+    @ParameterizedTest(name = "depth {1}")
+    @DisplayName("Promotions on both sides")
+    @CsvSource({
+            "'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 1, 24",
+            "'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 2, 496",
+            "'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 3, 9483",
+            "'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 4, 182838",
+    })
+    public void promotions(String fen, int depth, long expected) {
+        assertPerft(fen, depth, expected);
+    }
+
+    @ParameterizedTest(name = "depth {1}")
+    @DisplayName("Kiwipete: castling, en passant and promotions")
+    @CsvSource({
+            "'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 1, 48",
+            "'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 2, 2039",
+            "'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 3, 97862",
+    })
+    public void kiwipete(String fen, int depth, long expected) {
+        assertPerft(fen, depth, expected);
+    }
+
+    @ParameterizedTest(name = "{0} depth {1}")
+    @DisplayName("Castling rights lost to captures and checks")
+    @CsvSource({
+            "'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 1, 6",
+            "'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 2, 264",
+            "'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 3, 9467",
+            "'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 1, 44",
+            "'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 2, 1486",
+            "'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 3, 62379",
+    })
+    public void castlingRights(String fen, int depth, long expected) {
+        assertPerft(fen, depth, expected);
+    }
+
+    @Test
+    @DisplayName("Divide rejects a depth with no root moves")
+    public void divideNeedsDepth() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Perft(1).divide(new ChessGame(), 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Perft.divideParallel(new ChessGame(), -1, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("Parallel divide matches the sequential one")
+    public void parallelDivide() {
+        String kiwipete = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        ChessGame game = Fen.toGame(kiwipete);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PerftResult parallel = Perft.divideParallel(game, 3, pool);
+            PerftResult sequential = new Perft(3).divide(game, 3);
+            Assertions.assertEquals(sequential.divide(), parallel.divide());
+            Assertions.assertEquals(97862, parallel.nodes());
+            Assertions.assertEquals(kiwipete, Fen.fromGame(game), "Root game should be left untouched");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertPerft(String fen, int depth, long expected) {
+        PerftResult result = new Perft(depth).divide(Fen.toGame(fen), depth);
+        Assertions.assertEquals(expected, result.nodes(), "Wrong perft count for " + fen);
+        Assertions.assertEquals(expected, result.divide().values().stream().mapToLong(Long::longValue).sum(),
+                "Divide counts don't add up to the total");
+    }
+}